@@ -0,0 +1,122 @@
+package com.money.manager.webapp.benchmark;
+
+import com.money.manager.webapp.MoneyManagerWebappApplication;
+import com.money.manager.webapp.component.JwtUtils;
+import com.money.manager.webapp.dto.RegisterRequest;
+import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.service.UserServ;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Carga mixta sobre Tomcat real: 8 hilos haciendo login contra 2 hilos usando la API.
+// threads=0 calcula BCrypt en los hilos de Tomcat; threads=2 lo limita al pool acotado.
+// Comparar la latencia de api() entre ambos y los rechazos (429) de login()
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class AuthUnderLoadBenchmark {
+
+    private static final int LOGIN_THREADS = 8;
+    private static final String PASSWORD = "Benchmark1!";
+
+    @Param({"0", "2"})
+    private int hashThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest[] logins;
+    private HttpRequest api;
+    private final AtomicInteger nextLogin = new AtomicInteger();
+
+    // Un usuario por hilo: los logins concurrentes de un mismo usuario compiten por su refresh token
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LoginOutcome {
+        public long accepted;
+        public long rejected;
+        private HttpRequest request;
+
+        @Setup(Level.Trial)
+        public void setup(AuthUnderLoadBenchmark benchmark) {
+            request = benchmark.logins[benchmark.nextLogin.getAndIncrement() % LOGIN_THREADS];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Argumentos de línea de comandos: tienen prioridad sobre application.properties
+        context = new SpringApplicationBuilder(MoneyManagerWebappApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=10",
+                        "--security.password.strength=10",
+                        "--security.password.threads=" + hashThreads,
+                        "--security.password.queueCapacity=4",
+                        "--logging.level.root=WARN");
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port;
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        UserServ users = context.getBean(UserServ.class);
+        User user = null;
+        logins = new HttpRequest[LOGIN_THREADS];
+        for (int i = 0; i < LOGIN_THREADS; i++) {
+            String email = "benchmark" + i + "@test.com";
+            RegisterRequest request = new RegisterRequest();
+            request.setFullName("Benchmark " + i);
+            request.setEmail(email);
+            request.setPassword(PASSWORD);
+            user = users.registerUser(request);
+            logins[i] = HttpRequest.newBuilder(URI.create(base + "/api/user/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+        }
+        String token = context.getBean(JwtUtils.class).generateToken(user.getEmail(), user.getId());
+        api = HttpRequest.newBuilder(URI.create(base + "/api/categories"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(LOGIN_THREADS)
+    public int login(LoginOutcome outcome) throws Exception {
+        int status = client.send(outcome.request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 429) {
+            outcome.rejected++;
+        } else {
+            outcome.accepted++;
+        }
+        return status;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public int api() throws Exception {
+        return client.send(api, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,52 @@
+package com.money.manager.webapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.model.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // Una página del listado frente al listado completo de un usuario con historial
+    @Param({"20", "1000"})
+    private int listSize;
+
+    private List<TransactionResponse> responses;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        responses = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            responses.add(TransactionResponse.builder()
+                    .id((long) i)
+                    .description("Movimiento " + i)
+                    .amount(new BigDecimal("42.50"))
+                    .type(i % 2 == 0 ? TransactionType.EXPENSE : TransactionType.INCOME)
+                    .date(LocalDateTime.of(2024, 1, 15, 10, 30).plusHours(i))
+                    .accountName("Banco")
+                    .categoryId(3L)
+                    .build());
+        }
+        // Misma configuración base que usa Spring Boot para las respuestas HTTP
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] serializeResponseList() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
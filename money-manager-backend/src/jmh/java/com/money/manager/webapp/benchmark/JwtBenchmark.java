@@ -0,0 +1,56 @@
+package com.money.manager.webapp.benchmark;
+
+import com.money.manager.webapp.component.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils cachedJwt;
+    private JwtUtils uncachedJwt;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachedJwt = newJwtUtils(10_000);
+        uncachedJwt = newJwtUtils(0); // caché desactivada: cada llamada verifica la firma
+        token = cachedJwt.generateToken("benchmark@moneymanager.com", 42L);
+    }
+
+    private JwtUtils newJwtUtils(int cacheSize) {
+        JwtUtils jwt = new JwtUtils();
+        ReflectionTestUtils.setField(jwt, "jwtSecret", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(jwt, "jwtExpirationMs", 900_000);
+        ReflectionTestUtils.setField(jwt, "claimsCacheMaxSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(jwt, "init");
+        return jwt;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwt.generateToken("benchmark@moneymanager.com", 42L);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachedJwt.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedJwt.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromTokenUncached() {
+        return uncachedJwt.getUsernameFromToken(token);
+    }
+}
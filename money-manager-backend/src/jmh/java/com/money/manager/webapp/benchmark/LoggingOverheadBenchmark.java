@@ -0,0 +1,81 @@
+package com.money.manager.webapp.benchmark;
+
+import com.money.manager.webapp.MoneyManagerWebappApplication;
+import com.money.manager.webapp.component.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Latencia de una petición autenticada con el log apagado, con log síncrono en texto y con el
+// pipeline JSON asíncrono (logback-spring.xml). La salida va a un fichero temporal en lugar de
+// a la consola de JMH. async-json debería quedar a pocos puntos porcentuales de off
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+    @Param({"off", "sync-text", "async-json"})
+    private String logging;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest api;
+    private PrintStream originalOut;
+    private PrintStream logOut;
+    private Path logFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        originalOut = System.out;
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        logOut = new PrintStream(new BufferedOutputStream(new FileOutputStream(logFile.toFile())), false);
+        System.setOut(logOut);
+
+        String[] profiles = "async-json".equals(logging) ? new String[]{"test", "json-logs"} : new String[]{"test"};
+        String level = "off".equals(logging) ? "OFF" : "DEBUG";
+        context = new SpringApplicationBuilder(MoneyManagerWebappApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--logging.level.root=" + ("off".equals(logging) ? "OFF" : "INFO"),
+                        "--logging.level.com.money.manager=" + level);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String token = context.getBean(JwtUtils.class).generateToken("logging@test.com", 9001L);
+        client = HttpClient.newHttpClient();
+        api = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/categories"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        context.close();
+        System.setOut(originalOut);
+        logOut.close();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        return client.send(api, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,56 @@
+package com.money.manager.webapp.benchmark;
+
+import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Transaction;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionPathBenchmark {
+
+    private Transaction transaction;
+    private BigDecimal amount;
+
+    @Setup
+    public void setup() {
+        Account account = new Account();
+        account.setId(1L);
+        account.setName("Banco");
+        account.setType("Banco");
+        account.setUserId(1L);
+
+        transaction = Transaction.builder()
+                .id(1L)
+                .description("Supermercado")
+                .amount(new BigDecimal("42.50"))
+                .type(TransactionType.EXPENSE)
+                .date(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .account(account)
+                .categoryId(3L)
+                .userId(1L)
+                .build();
+
+        amount = new BigDecimal("1234.56");
+    }
+
+    @Benchmark
+    public TransactionResponse mapToResponse() {
+        return TransactionService.mapToResponse(transaction);
+    }
+
+    @Benchmark
+    public BigDecimal balanceAdjustment() {
+        return TransactionService.balanceAdjustment(amount, TransactionType.EXPENSE, true);
+    }
+}
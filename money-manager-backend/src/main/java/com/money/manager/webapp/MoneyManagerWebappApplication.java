@@ -3,8 +3,10 @@ package com.money.manager.webapp;
 import org.springframework.boot.SpringApplication;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MoneyManagerWebappApplication {
 
 	public static void main(String[] args) {
@@ -2,21 +2,32 @@ package com.money.manager.webapp.component;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
-import io.github.cdimascio.dotenv.Dotenv;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JwtUtils {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final long SWEEP_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
     @Value("${jwt.secret}")
@@ -26,45 +37,110 @@ public class JwtUtils {
     @Value("${jwt.accessExpirationMs}")
     private int jwtExpirationMs;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.claimsCache.maxSize:10000}")
+    private int claimsCacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Claims ya verificados, indexados por el SHA-256 del token; cada entrada caduca con el propio token
+    private final ConcurrentHashMap<String, TokenClaims> verifiedClaims = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public String generateToken(String email) {
+    public String generateToken(String email, Long userId) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + jwtExpirationMs);
         return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(now)
-                .setExpiration(exp)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .claim(USER_ID_CLAIM, userId)
+                .issuedAt(now)
+                .expiration(exp)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(userDetails.getUsername());
-    }
+    // Única vía de verificación: firma + expiración, con caché de los claims ya verificados
+    public Optional<TokenClaims> parseAndVerify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        String key = digest(token);
+        TokenClaims cached = verifiedClaims.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verifiedClaims.remove(key, cached);
+            logger.warn("Token expirado: {}", cached.getExpiresAt());
+            return Optional.empty();
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parser().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            TokenClaims verified = new TokenClaims(
+                    claims.getId(),
+                    claims.getSubject(),
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    claims.getExpiration().toInstant());
+            cache(key, verified, now);
+            return Optional.of(verified);
         } catch (ExpiredJwtException e) {
             logger.warn("Token expirado: {}", e.getMessage());
         } catch (JwtException | IllegalArgumentException e) {
             logger.warn("Token inválido: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public boolean validateToken(String token) {
+        return parseAndVerify(token).isPresent();
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseAndVerify(token)
+                .map(TokenClaims::getSubject)
+                .orElseThrow(() -> new JwtException("Token inválido"));
+    }
+
+    public Long getUserIdFromToken(String token) {
+        return parseAndVerify(token)
+                .map(TokenClaims::getUserId)
+                .orElseThrow(() -> new JwtException("Token inválido"));
+    }
+
+    private void cache(String key, TokenClaims claims, Instant now) {
+        if (verifiedClaims.size() >= claimsCacheMaxSize) {
+            // Como mucho un barrido por segundo: con la caché llena de tokens vigentes, barrer en
+            // cada fallo costaría más que la verificación HMAC que se ahorra
+            long nanos = System.nanoTime();
+            long last = lastSweep.get();
+            if (nanos - last > SWEEP_BACKOFF_NANOS && lastSweep.compareAndSet(last, nanos)) {
+                verifiedClaims.values().removeIf(c -> c.isExpired(now));
+            }
+            if (verifiedClaims.size() >= claimsCacheMaxSize) {
+                // Caché llena de tokens vigentes: no se cachea, se verificará de nuevo la próxima vez
+                return;
+            }
+        }
+        verifiedClaims.put(key, claims);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 
 }
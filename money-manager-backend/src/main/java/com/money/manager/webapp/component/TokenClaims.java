@@ -0,0 +1,26 @@
+package com.money.manager.webapp.component;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Claims ya verificados de un access token (inmutable, se puede compartir entre hilos)
+@Getter
+public class TokenClaims {
+
+    private final String tokenId;
+    private final String subject;
+    private final Long userId;
+    private final Instant expiresAt;
+
+    public TokenClaims(String tokenId, String subject, Long userId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
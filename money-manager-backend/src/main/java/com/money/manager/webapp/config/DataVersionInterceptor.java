@@ -0,0 +1,42 @@
+package com.money.manager.webapp.config;
+
+import com.money.manager.webapp.security.AuthenticatedUser;
+import com.money.manager.webapp.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// GET condicionales: si el If-None-Match coincide con la versión del usuario se responde 304
+// antes de llegar al controlador (sin consultas ni serialización)
+public class DataVersionInterceptor implements HandlerInterceptor {
+
+    // El navegador guarda la respuesta pero siempre la revalida con If-None-Match
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final DataVersionService dataVersionService;
+
+    public DataVersionInterceptor(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return true;
+        }
+
+        // La versión se lee antes de consultar: una escritura posterior siempre invalida este ETag
+        String etag = dataVersionService.etag(user.getId());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
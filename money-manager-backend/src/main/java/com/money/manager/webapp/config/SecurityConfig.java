@@ -1,9 +1,17 @@
 package com.money.manager.webapp.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.money.manager.webapp.component.JwtUtils;
+import com.money.manager.webapp.security.BoundedPasswordEncoder;
 import com.money.manager.webapp.security.CustomUserDetailsService;
 import com.money.manager.webapp.security.JwtAuthenticationFilter;
+import com.money.manager.webapp.security.RateLimitFilter;
+import com.money.manager.webapp.security.RateLimiter;
 import com.money.manager.webapp.security.TokenBlacklistService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,19 +33,33 @@ import java.util.List;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final List<String> PUBLIC_ENDPOINTS = List.of(
+            "/api/user/login", "/api/user/register", "/api/user/recover/**", "/api/user/refresh-token");
+
     private final CustomUserDetailsService uds;
     private final JwtUtils jwtProvider;
     private final TokenBlacklistService tokenBlacklistService;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(CustomUserDetailsService uds, JwtUtils jwtProvider, TokenBlacklistService tokenBlacklistService){
+    public SecurityConfig(CustomUserDetailsService uds, JwtUtils jwtProvider, TokenBlacklistService tokenBlacklistService,
+                          RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry){
         this.uds = uds;
         this.jwtProvider = jwtProvider;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // Un único encoder acotado para login, registro y recuperación de contraseña
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.password.strength:10}") int strength,
+                                                 @Value("${security.password.threads:4}") int threads,
+                                                 @Value("${security.password.queueCapacity:32}") int queueCapacity,
+                                                 @Value("${security.password.timeoutMs:10000}") long timeoutMs) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity, timeoutMs);
     }
 
     @Bean
@@ -48,12 +70,17 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/user/login", "/api/user/register", "/api/user/recover/**", "/api/user/refresh-token").permitAll()
+                        // Exportaciones en streaming: la petición original ya fue autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(PUBLIC_ENDPOINTS.toArray(String[]::new)).permitAll()
+                        // Actuator escucha en su propio puerto, solo en localhost (management.server.*)
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                         .anyRequest().authenticated()
                 );
 
-        http.addFilterBefore(new JwtAuthenticationFilter(jwtProvider, uds, tokenBlacklistService),
+        http.addFilterBefore(new JwtAuthenticationFilter(jwtProvider, tokenBlacklistService, PUBLIC_ENDPOINTS, meterRegistry),
                 UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -74,10 +101,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
+    public AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
+        // userDetailsPasswordManager: tras un login correcto con un hash de otro coste se guarda uno nuevo
         return http.getSharedObject(AuthenticationManagerBuilder.class)
                 .userDetailsService(uds)
-                .passwordEncoder(passwordEncoder())
+                .passwordEncoder(passwordEncoder)
+                .userDetailsPasswordManager(uds)
                 .and()
                 .build();
     }
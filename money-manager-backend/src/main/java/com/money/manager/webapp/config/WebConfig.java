@@ -0,0 +1,33 @@
+package com.money.manager.webapp.config;
+
+import com.money.manager.webapp.service.DataVersionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DataVersionService dataVersionService;
+
+    public WebConfig(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Solo listados que dependen únicamente de los datos del usuario (no de la fecha actual)
+        registry.addInterceptor(new DataVersionInterceptor(dataVersionService))
+                .addPathPatterns(
+                        "/api/accounts",
+                        "/api/accounts/{id}",
+                        "/api/categories",
+                        "/api/transactions",
+                        "/api/transactions/page",
+                        "/api/transactions/search",
+                        "/api/transactions/suggestions",
+                        "/api/transactions/account/{accountId}")
+                // Depende también de los tipos de cambio, que no cambian la versión del usuario
+                .excludePathPatterns("/api/accounts/consolidated-balance");
+    }
+}
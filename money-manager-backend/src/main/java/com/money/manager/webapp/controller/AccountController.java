@@ -1,54 +1,57 @@
 package com.money.manager.webapp.controller;
 
+import com.money.manager.webapp.dto.BalancePointResponse;
+import com.money.manager.webapp.dto.ConsolidatedBalanceResponse;
+import com.money.manager.webapp.dto.DeletionJobResponse;
 import com.money.manager.webapp.model.Account;
-import com.money.manager.webapp.model.User;
-import com.money.manager.webapp.repository.UserRepository;
+import com.money.manager.webapp.security.AuthenticatedUser;
 import com.money.manager.webapp.service.AccountService;
+import com.money.manager.webapp.service.BalanceHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/accounts")
 public class AccountController {
 
     private final AccountService accountService;
-    private final UserRepository userRepository;
+    private final BalanceHistoryService balanceHistoryService;
 
-    public AccountController(AccountService accountService, UserRepository userRepository) {
+    public AccountController(AccountService accountService, BalanceHistoryService balanceHistoryService) {
         this.accountService = accountService;
-        this.userRepository = userRepository;
-    }
-
-    private Long getCurrentUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        userRepository.findByEmail(auth.getName());
-        Optional<User> user = Optional.empty();
-        if (userRepository.existsByEmail(auth.getName())){
-            user = userRepository.findByEmail(auth.getName());
-        }
-        return user.map(User::getId).orElse(null);
+        this.balanceHistoryService = balanceHistoryService;
     }
 
     @PostMapping
-    public ResponseEntity<Account> createAccount(@RequestBody Account account) {
-        account.setUserId(getCurrentUserId());
+    public ResponseEntity<Account> createAccount(@RequestBody Account account,
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        account.setUserId(user.getId());
         return ResponseEntity.ok(accountService.createAccount(account));
     }
 
     @GetMapping
-    public ResponseEntity<List<Account>> getAllAccounts() {
-        Long userId = getCurrentUserId();
+    public ResponseEntity<List<Account>> getAllAccounts(@AuthenticationPrincipal AuthenticatedUser user) {
+        Long userId = user.getId();
         return ResponseEntity.ok(accountService.getAllAccounts(userId));
     }
 
+    // Sin la divisa, la base del usuario
+    @GetMapping("/consolidated-balance")
+    public ResponseEntity<ConsolidatedBalanceResponse> getConsolidatedBalance(
+            @RequestParam(required = false) String currency,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(accountService.getConsolidatedBalance(user.getId(), currency));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Account> getAccount(@PathVariable Long id) {
-        Long userId = getCurrentUserId();
+    public ResponseEntity<Account> getAccount(@PathVariable Long id,
+                                              @AuthenticationPrincipal AuthenticatedUser user) {
+        Long userId = user.getId();
         return accountService.getAccount(id, userId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -56,16 +59,28 @@ public class AccountController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Account> updateAccount(@PathVariable Long id,
-                                                 @RequestBody Account account) {
-        Long userId = getCurrentUserId();
+                                                 @RequestBody Account account,
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        Long userId = user.getId();
         account.setId(id);
         return ResponseEntity.ok(accountService.updateAccount(account, userId));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteAccount(@PathVariable Long id) {
-        Long userId = getCurrentUserId();
-        accountService.deleteAccount(id, userId);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeletionJobResponse> deleteAccount(@PathVariable Long id,
+                                                             @AuthenticationPrincipal AuthenticatedUser user) {
+        Long userId = user.getId();
+        return accountService.deleteAccount(id, userId)
+                .map(DeletionJobController::accepted)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/{id}/balance-history")
+    public ResponseEntity<List<BalancePointResponse>> getBalanceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(balanceHistoryService.getHistory(id, user.getId(), from, to));
     }
 }
@@ -1,16 +1,14 @@
 package com.money.manager.webapp.controller;
 
 import com.money.manager.webapp.dto.CategoryRequest;
+import com.money.manager.webapp.dto.DeletionJobResponse;
 import com.money.manager.webapp.model.Category;
-import com.money.manager.webapp.model.User;
-import com.money.manager.webapp.repository.UserRepository;
+import com.money.manager.webapp.security.AuthenticatedUser;
 import com.money.manager.webapp.service.CategoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,28 +19,24 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
-    private final UserRepository userRepository;
-
-    private Long getCurrentUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
-        return user.getId();
-    }
 
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories(getCurrentUserId()));
+    public ResponseEntity<List<Category>> getAllCategories(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(categoryService.getAllCategories(user.getId()));
     }
 
     @PostMapping
-    public ResponseEntity<Category> createCategory(@Valid @RequestBody CategoryRequest request) {
-        return ResponseEntity.ok(categoryService.createCategory(request, getCurrentUserId()));
+    public ResponseEntity<Category> createCategory(@Valid @RequestBody CategoryRequest request,
+                                                   @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(categoryService.createCategory(request, user.getId()));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
-        categoryService.deleteCategory(id, getCurrentUserId());
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeletionJobResponse> deleteCategory(@PathVariable Long id,
+                                                              @RequestParam(required = false) Long reassignTo,
+                                                              @AuthenticationPrincipal AuthenticatedUser user) {
+        return categoryService.deleteCategory(id, user.getId(), reassignTo)
+                .map(DeletionJobController::accepted)
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.money.manager.webapp.controller;
+
+import com.money.manager.webapp.dto.DeletionJobResponse;
+import com.money.manager.webapp.security.AuthenticatedUser;
+import com.money.manager.webapp.service.DeletionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/deletions")
+@RequiredArgsConstructor
+public class DeletionJobController {
+
+    private final DeletionService deletionService;
+
+    // Progreso de un borrado en segundo plano
+    @GetMapping("/{id}")
+    public ResponseEntity<DeletionJobResponse> getDeletion(@PathVariable Long id,
+                                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        return deletionService.getJob(id, user.getId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    static ResponseEntity<DeletionJobResponse> accepted(DeletionJobResponse job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/deletions/" + job.getId()))
+                .body(job);
+    }
+}
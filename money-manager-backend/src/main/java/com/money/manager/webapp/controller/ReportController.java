@@ -0,0 +1,56 @@
+package com.money.manager.webapp.controller;
+
+import com.money.manager.webapp.dto.AccountTotalResponse;
+import com.money.manager.webapp.dto.CategoryTotalResponse;
+import com.money.manager.webapp.dto.MonthlyTotalResponse;
+import com.money.manager.webapp.dto.ReportSummaryResponse;
+import com.money.manager.webapp.security.AuthenticatedUser;
+import com.money.manager.webapp.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<ReportSummaryResponse> getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(reportService.getSummary(user.getId(), from, to));
+    }
+
+    @GetMapping("/monthly")
+    public ResponseEntity<List<MonthlyTotalResponse>> getMonthlyTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(reportService.getMonthlyTotals(user.getId(), from, to));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryTotalResponse>> getCategoryTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(reportService.getCategoryTotals(user.getId(), from, to));
+    }
+
+    @GetMapping("/accounts")
+    public ResponseEntity<List<AccountTotalResponse>> getAccountTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(reportService.getAccountTotals(user.getId(), from, to));
+    }
+}
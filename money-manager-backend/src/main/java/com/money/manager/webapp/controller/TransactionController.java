@@ -1,19 +1,33 @@
 package com.money.manager.webapp.controller;
 
+import com.money.manager.webapp.dto.ImportResult;
+import com.money.manager.webapp.dto.TransactionFilter;
+import com.money.manager.webapp.dto.TransactionPage;
 import com.money.manager.webapp.dto.TransactionRequest;
 import com.money.manager.webapp.dto.TransactionResponse;
-import com.money.manager.webapp.model.User;
-import com.money.manager.webapp.repository.UserRepository;
+import com.money.manager.webapp.security.AuthenticatedUser;
+import com.money.manager.webapp.service.TransactionExportService;
+import com.money.manager.webapp.service.TransactionImportService;
+import com.money.manager.webapp.service.TransactionSearchService;
 import com.money.manager.webapp.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -21,33 +35,95 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
-    private final UserRepository userRepository;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionSearchService transactionSearchService;
 
-    private Long getCurrentUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
-        return user.getId();
+    @PostMapping
+    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest request,
+                                                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(transactionService.createTransaction(request, user.getId()));
     }
 
-    @PostMapping
-    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest request) {
-        return ResponseEntity.ok(transactionService.createTransaction(request, getCurrentUserId()));
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importTransactions(@RequestParam("file") MultipartFile file,
+                                                           @RequestParam Long accountId,
+                                                           @RequestParam(required = false) Long categoryId,
+                                                           @RequestParam(required = false) String format,
+                                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(transactionImportService.importStatement(file, format, accountId, categoryId, user.getId()));
     }
 
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getAllTransactions() {
-        return ResponseEntity.ok(transactionService.getAllTransactions(getCurrentUserId()));
+    public ResponseEntity<List<TransactionResponse>> getAllTransactions(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(transactionService.getAllTransactions(user.getId()));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPage> getTransactionPage(@ModelAttribute TransactionFilter filter,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(transactionService.getTransactionPage(user.getId(), filter, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TransactionPage> searchTransactions(@RequestParam String q,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(transactionSearchService.search(user.getId(), q, cursor, size));
+    }
+
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<String>> suggestDescriptions(@RequestParam String prefix,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(transactionSearchService.suggest(user.getId(), prefix, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@ModelAttribute TransactionFilter filter,
+                                                                    @RequestParam(defaultValue = "csv") String format,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip,
+                                                                    @AuthenticationPrincipal AuthenticatedUser user,
+                                                                    HttpServletRequest request) {
+        String resolved = transactionExportService.resolveFormat(format);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(resolved.equals("csv")
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("movimientos." + resolved)
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // Lo último antes de responder: desde aquí el hueco de exportación ya está reservado
+        TransactionExportService.ExportBody body = transactionExportService.export(user.getId(), filter, resolved, gzip);
+        // Se devuelve también si el cuerpo no llega a ejecutarse (tarea rechazada, timeout, error)
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(TransactionExportService.ExportBody.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        body.release();
+                    }
+                });
+        return response.body(body);
     }
 
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<List<TransactionResponse>> getTransactionsByAccount(@PathVariable Long accountId) {
-        return ResponseEntity.ok(transactionService.getTransactionsByAccount(accountId, getCurrentUserId()));
+    public ResponseEntity<List<TransactionResponse>> getTransactionsByAccount(@PathVariable Long accountId,
+                                                                              @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(transactionService.getTransactionsByAccount(accountId, user.getId()));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTransaction(@PathVariable Long id) {
-        transactionService.deleteTransaction(id, getCurrentUserId());
+    public ResponseEntity<Void> deleteTransaction(@PathVariable Long id,
+                                                  @AuthenticationPrincipal AuthenticatedUser user) {
+        transactionService.deleteTransaction(id, user.getId());
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
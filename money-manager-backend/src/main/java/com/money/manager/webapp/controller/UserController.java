@@ -10,13 +10,16 @@ import com.money.manager.webapp.security.TokenBlacklistService;
 import com.money.manager.webapp.service.RefreshTokenService;
 import com.money.manager.webapp.service.UserProfileService;
 import com.money.manager.webapp.service.UserServ;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,6 +27,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.HttpHeaders;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 
@@ -44,15 +48,22 @@ public class UserController {
     @Autowired
     private RefreshTokenService refreshTokenService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Duration refreshTokenMaxAge;
+
     @Autowired
     public UserController(UserServ userService, AuthenticationManager authManager, JwtUtils jwtUtils,
-                          UserRepository userRepository, PasswordEncoder passwordEncoder, UserProfileService userProfileService) {
+                          UserRepository userRepository, PasswordEncoder passwordEncoder, UserProfileService userProfileService,
+                          @Value("${jwt.refreshExpirationMs}") long refreshExpirationMs) {
         this.userService = userService;
         this.authManager = authManager;
         this.jwtUtils = jwtUtils;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userProfileService = userProfileService;
+        this.refreshTokenMaxAge = Duration.ofMillis(refreshExpirationMs);
     }
 
     @PostMapping("/register")
@@ -62,14 +73,21 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req) {
-        Authentication authentication = authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
-        );
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req, HttpServletRequest request) {
+        Authentication authentication;
+        try {
+            authentication = authManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            meterRegistry.counter("moneymanager.logins", "outcome", "failure").increment();
+            throw e;
+        }
+        meterRegistry.counter("moneymanager.logins", "outcome", "success").increment();
         UserDetails ud = (UserDetails) authentication.getPrincipal();
         User user = userService.findByEmail(ud.getUsername());
 
-        ResponseCookie accessCookie = ResponseCookie.from("accessToken", jwtUtils.generateToken(ud))
+        ResponseCookie accessCookie = ResponseCookie.from("accessToken", jwtUtils.generateToken(user.getEmail(), user.getId()))
                 .httpOnly(true)
                 .secure(false)
                 .sameSite("Lax")
@@ -77,16 +95,10 @@ public class UserController {
                 .maxAge(15 * 60)
                 .build();
 
-        com.money.manager.webapp.model.RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getId());
-
+        // Una sesión por dispositivo: entrar desde el móvil no cierra la del portátil
+        String refreshToken = refreshTokenService.createSession(user.getId(), request.getHeader(HttpHeaders.USER_AGENT));
 
-        ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", refreshToken.getToken())
-                .httpOnly(true)
-                .secure(false)
-                .sameSite("Lax")
-                .path("/")
-                .maxAge(24 * 60 * 60)
-                .build();
+        ResponseCookie refreshCookie = refreshCookie(refreshToken);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, accessCookie.toString())
@@ -111,11 +123,10 @@ public class UserController {
                     .body(Collections.singletonMap("error", "Refresh Token necesario"));
         }
 
-        return refreshTokenService.findByToken(refreshTokenStr)
-                .map(refreshTokenService::verifyExpiration)
-                .map(com.money.manager.webapp.model.RefreshToken::getUser)
-                .map(user -> {
-                    String newAccessToken = jwtUtils.generateToken(user.getEmail());
+        // Cada renovación rota el refresh token: el anterior deja de valer
+        return refreshTokenService.rotate(refreshTokenStr)
+                .<ResponseEntity<?>>map(session -> {
+                    String newAccessToken = jwtUtils.generateToken(session.getEmail(), session.getUserId());
 
                     ResponseCookie newAccessCookie = ResponseCookie.from("accessToken", newAccessToken)
                             .httpOnly(true)
@@ -127,9 +138,21 @@ public class UserController {
 
                     return ResponseEntity.ok()
                             .header(HttpHeaders.SET_COOKIE, newAccessCookie.toString())
+                            .header(HttpHeaders.SET_COOKIE, refreshCookie(session.getRefreshToken()).toString())
                             .body(Collections.singletonMap("message", "Token renovado"));
                 })
-                .orElseThrow(() -> new RuntimeException("Refresh token no válido"));
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Collections.singletonMap("error", "Refresh token no válido o expirado")));
+    }
+
+    private ResponseCookie refreshCookie(String token) {
+        return ResponseCookie.from("refreshToken", token)
+                .httpOnly(true)
+                .secure(false)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(refreshTokenMaxAge)
+                .build();
     }
 
     @PostMapping("/logout")
@@ -154,10 +177,12 @@ public class UserController {
         if (request.getCookies() != null) {
             for (jakarta.servlet.http.Cookie cookie : request.getCookies()) {
                 if ("refreshToken".equals(cookie.getName())) {
-                    String tokenVal = cookie.getValue();
-                    refreshTokenService.findByToken(tokenVal)
-                            .ifPresent(token -> refreshTokenService.deleteByUserId(token.getUser().getId()));
-                    break;
+                    // Solo se cierra la sesión de este dispositivo
+                    refreshTokenService.revoke(cookie.getValue());
+                } else if ("accessToken".equals(cookie.getName())) {
+                    // El access token sigue siendo válido hasta su exp: se revoca para que no pueda reutilizarse
+                    jwtUtils.parseAndVerify(cookie.getValue())
+                            .ifPresent(claims -> tokenBlacklistService.revoke(claims.getTokenId(), claims.getExpiresAt()));
                 }
             }
         }
@@ -185,4 +210,10 @@ public class UserController {
         userProfileService.updateName(authentication.getName(), newName);
         return ResponseEntity.ok(Map.of("message", "Nombre actualizado", "name", newName));
     }
+
+    @PatchMapping("/profile/currency")
+    public ResponseEntity<UserProfileRequest> updateBaseCurrency(Authentication authentication,
+                                                                 @RequestBody Map<String, String> request) {
+        return ResponseEntity.ok(userProfileService.updateBaseCurrency(authentication.getName(), request.get("currency")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.money.manager.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDayFlow {
+    private Long accountId;
+    private LocalDate day;
+    private BigDecimal flow; // ingresos - gastos del día
+}
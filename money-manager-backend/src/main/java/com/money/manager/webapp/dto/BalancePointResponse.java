@@ -0,0 +1,16 @@
+package com.money.manager.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePointResponse {
+    private LocalDate date;
+    private BigDecimal balance; // saldo al cierre del día
+}
@@ -0,0 +1,18 @@
+package com.money.manager.webapp.dto;
+
+import com.money.manager.webapp.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTotalResponse {
+    private Long categoryId;
+    private TransactionType type;
+    private BigDecimal total;
+    private Long count;
+}
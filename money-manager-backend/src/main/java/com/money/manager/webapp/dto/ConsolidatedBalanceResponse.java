@@ -0,0 +1,20 @@
+package com.money.manager.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidatedBalanceResponse {
+    private String currency;
+    private BigDecimal total;
+    private Instant ratesAsOf;
+    private List<ConvertedAccountBalance> accounts;
+    private List<String> missingRates; // divisas que no suman al total
+}
@@ -0,0 +1,18 @@
+package com.money.manager.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConvertedAccountBalance {
+    private Long accountId;
+    private String accountName;
+    private String currency;
+    private BigDecimal balance;
+    private BigDecimal converted; // null si no hay tipo de cambio para su divisa
+}
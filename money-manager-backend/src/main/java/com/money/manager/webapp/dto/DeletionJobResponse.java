@@ -0,0 +1,24 @@
+package com.money.manager.webapp.dto;
+
+import com.money.manager.webapp.model.DeletionStatus;
+import com.money.manager.webapp.model.DeletionTarget;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class DeletionJobResponse {
+    private Long id;
+    private DeletionTarget target;
+    private Long targetId;
+    private DeletionStatus status;
+    private long totalRows;
+    private long processedRows;
+    private String error;
+    private Instant createdAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,15 @@
+package com.money.manager.webapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ImportResult {
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private List<ImportRowError> errors; // como máximo las primeras 100
+}
@@ -0,0 +1,14 @@
+package com.money.manager.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuedSession {
+    private Long userId;
+    private String email;
+    private String refreshToken; // en claro: solo se devuelve en la cookie
+}
@@ -0,0 +1,16 @@
+package com.money.manager.webapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class ReportSummaryResponse {
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal net;
+    private long incomeCount;
+    private long expenseCount;
+}
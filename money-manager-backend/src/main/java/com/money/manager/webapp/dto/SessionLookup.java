@@ -0,0 +1,18 @@
+package com.money.manager.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Lo que necesita la renovación, en una sola consulta por hash (con el email para el access token)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionLookup {
+    private Long sessionId;
+    private Long userId;
+    private String email;
+    private Instant expiresAt;
+}
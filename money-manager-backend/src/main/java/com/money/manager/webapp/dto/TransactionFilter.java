@@ -0,0 +1,28 @@
+package com.money.manager.webapp.dto;
+
+import com.money.manager.webapp.model.TransactionType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class TransactionFilter {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private TransactionType type;
+
+    private Long categoryId;
+
+    private Long accountId;
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+}
@@ -0,0 +1,14 @@
+package com.money.manager.webapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TransactionPage {
+    private List<TransactionResponse> items;
+    private String nextCursor; // null cuando no quedan más páginas
+    private boolean hasMore;
+}
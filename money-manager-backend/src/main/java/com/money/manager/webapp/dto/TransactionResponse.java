@@ -1,6 +1,7 @@
 package com.money.manager.webapp.dto;
 
 import com.money.manager.webapp.model.TransactionType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class TransactionResponse {
     private Long id;
     private String description;
@@ -0,0 +1,11 @@
+package com.money.manager.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TransactionSearchHit {
+    private TransactionResponse transaction;
+    private float rank; // relevancia; forma parte del cursor junto al id
+}
@@ -3,12 +3,14 @@ package com.money.manager.webapp.dto;
 public class UserProfileRequest {
     private String name;
     private String email;
+    private String baseCurrency;
 
     public UserProfileRequest() {}
 
-    public UserProfileRequest(String name, String email) {
+    public UserProfileRequest(String name, String email, String baseCurrency) {
         this.name = name;
         this.email = email;
+        this.baseCurrency = baseCurrency;
     }
 
     // Getters y Setters
@@ -27,4 +29,12 @@ public class UserProfileRequest {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
 }
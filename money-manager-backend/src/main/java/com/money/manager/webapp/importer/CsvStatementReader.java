@@ -0,0 +1,196 @@
+package com.money.manager.webapp.importer;
+
+import com.money.manager.webapp.model.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * CSV con cabecera. Columnas reconocidas (en cualquier orden):
+ *   fecha/date, descripcion/description, importe/monto/amount, tipo/type (opcional), categoria/categoryId (opcional)
+ * Sin columna de tipo, el signo del importe decide: negativo = gasto.
+ */
+public class CsvStatementReader implements StatementReader {
+
+    private final BufferedReader reader;
+    private final Long defaultCategoryId;
+
+    // Filas idénticas dentro del mismo fichero se distinguen por su número de aparición.
+    // La clave es el hash del contenido: tamaño fijo por fila distinta, no el texto completo
+    private final Map<String, Integer> occurrences = new HashMap<>();
+
+    private char delimiter = ',';
+    private int dateCol = -1;
+    private int descriptionCol = -1;
+    private int amountCol = -1;
+    private int typeCol = -1;
+    private int categoryCol = -1;
+    private long lineNumber = 0;
+    private boolean headerRead = false;
+
+    public CsvStatementReader(Reader in, Long defaultCategoryId) {
+        this.reader = in instanceof BufferedReader br ? br : new BufferedReader(in);
+        this.defaultCategoryId = defaultCategoryId;
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+        }
+
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        long rowLine = lineNumber;
+        try {
+            List<String> fields = split(line);
+            return toRow(rowLine, fields);
+        } catch (IllegalArgumentException e) {
+            return ImportedRow.failed(rowLine, e.getMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        headerRead = true;
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("El fichero CSV está vacío");
+        }
+        lineNumber++;
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        if (header.indexOf(';') >= 0 && header.indexOf(',') < 0) {
+            delimiter = ';';
+        }
+
+        List<String> columns = split(header);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "fecha", "date" -> dateCol = i;
+                case "descripcion", "descripción", "description", "concepto" -> descriptionCol = i;
+                case "importe", "monto", "amount" -> amountCol = i;
+                case "tipo", "type" -> typeCol = i;
+                case "categoria", "categoría", "categoryid", "category" -> categoryCol = i;
+                default -> { }
+            }
+        }
+        if (dateCol < 0 || descriptionCol < 0 || amountCol < 0) {
+            throw new IllegalArgumentException("La cabecera CSV debe incluir fecha, descripción e importe");
+        }
+    }
+
+    private ImportedRow toRow(long line, List<String> fields) {
+        LocalDateTime date = StatementValues.parseDate(field(fields, dateCol));
+        String description = field(fields, descriptionCol).trim();
+        if (description.isEmpty()) {
+            throw new IllegalArgumentException("La descripción es obligatoria");
+        }
+
+        BigDecimal amount = StatementValues.parseAmount(field(fields, amountCol));
+        TransactionType type;
+        if (typeCol >= 0 && !field(fields, typeCol).isBlank()) {
+            type = StatementValues.parseType(field(fields, typeCol));
+        } else {
+            type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        }
+        amount = amount.abs();
+        if (amount.signum() == 0) {
+            throw new IllegalArgumentException("El monto debe ser mayor a 0");
+        }
+
+        Long categoryId = defaultCategoryId;
+        if (categoryCol >= 0 && !field(fields, categoryCol).isBlank()) {
+            try {
+                categoryId = Long.parseLong(field(fields, categoryCol).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Categoría no válida: " + field(fields, categoryCol));
+            }
+        }
+
+        String content = date + "|" + amount.toPlainString() + "|" + type + "|" + description;
+        int occurrence = occurrences.merge(StatementValues.sha256(content), 1, Integer::sum);
+
+        return ImportedRow.builder()
+                .line(line)
+                .date(date)
+                .description(description)
+                .amount(amount)
+                .type(type)
+                .categoryId(categoryId)
+                .externalId(StatementValues.sha256(content + "#" + occurrence))
+                .build();
+    }
+
+    private String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            throw new IllegalArgumentException("Faltan columnas en la fila");
+        }
+        return fields.get(index);
+    }
+
+    // Separa una línea respetando comillas dobles ("" dentro de comillas es una comilla literal)
+    private List<String> split(String line) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            current.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == delimiter) {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            // Campo entre comillas con salto de línea: continúa en la siguiente línea física
+            String nextLine = reader.readLine();
+            if (nextLine == null) {
+                throw new IllegalArgumentException("Comillas sin cerrar");
+            }
+            lineNumber++;
+            current.append('\n');
+            line = nextLine;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.money.manager.webapp.importer;
+
+import com.money.manager.webapp.model.TransactionType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Fila leída de un extracto; si error != null la fila no se pudo interpretar
+@Getter
+@Builder
+public class ImportedRow {
+    private final long line;
+    private final LocalDateTime date;
+    private final String description;
+    private final BigDecimal amount;
+    private final TransactionType type;
+    private final Long categoryId;
+    private final String externalId; // FITID en OFX; en CSV se deriva del contenido de la fila
+    private final String error;
+
+    public static ImportedRow failed(long line, String error) {
+        return ImportedRow.builder().line(line).error(error).build();
+    }
+}
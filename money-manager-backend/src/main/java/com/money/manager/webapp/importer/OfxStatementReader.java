@@ -0,0 +1,135 @@
+package com.money.manager.webapp.importer;
+
+import com.money.manager.webapp.model.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * OFX 1.x (SGML) y 2.x (XML). Se recorre el fichero etiqueta a etiqueta y solo se guarda
+ * en memoria el bloque <STMTTRN> en curso. La categoría viene dada por la importación.
+ */
+public class OfxStatementReader implements StatementReader {
+
+    private final BufferedReader reader;
+    private final Long categoryId;
+    private long transactionNumber = 0;
+
+    public OfxStatementReader(Reader in, Long categoryId) {
+        this.reader = in instanceof BufferedReader br ? br : new BufferedReader(in);
+        this.categoryId = categoryId;
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        Map<String, String> fields = null;
+
+        String tag;
+        while ((tag = nextTag()) != null) {
+            String name = tag.toUpperCase(Locale.ROOT);
+            if (name.equals("STMTTRN")) {
+                fields = new HashMap<>();
+                transactionNumber++;
+            } else if (name.equals("/STMTTRN")) {
+                if (fields != null) {
+                    return toRow(transactionNumber, fields);
+                }
+            } else if (fields != null && !name.startsWith("/")) {
+                fields.put(name, readValue());
+            }
+        }
+        return null;
+    }
+
+    private ImportedRow toRow(long number, Map<String, String> fields) {
+        try {
+            String rawAmount = fields.get("TRNAMT");
+            String rawDate = fields.get("DTPOSTED");
+            if (rawAmount == null || rawDate == null) {
+                throw new IllegalArgumentException("Movimiento OFX sin TRNAMT o DTPOSTED");
+            }
+            BigDecimal amount = StatementValues.parseOfxAmount(rawAmount);
+            TransactionType type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+            amount = amount.abs();
+            if (amount.signum() == 0) {
+                throw new IllegalArgumentException("El monto debe ser mayor a 0");
+            }
+
+            String description = firstNonBlank(fields.get("NAME"), fields.get("MEMO"), fields.get("PAYEE"));
+            if (description == null) {
+                description = fields.getOrDefault("TRNTYPE", "Movimiento importado");
+            }
+
+            String fitId = fields.get("FITID");
+            String externalId = fitId != null && !fitId.isBlank()
+                    ? StatementValues.sha256("OFX|" + fitId.trim())
+                    : StatementValues.sha256("OFX|" + rawDate + "|" + rawAmount + "|" + description + "#" + number);
+
+            return ImportedRow.builder()
+                    .line(number)
+                    .date(StatementValues.parseOfxDate(rawDate))
+                    .description(description)
+                    .amount(amount)
+                    .type(type)
+                    .categoryId(categoryId)
+                    .externalId(externalId)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return ImportedRow.failed(number, e.getMessage());
+        }
+    }
+
+    private String firstNonBlank(String... values) {
+        for (String v : values) {
+            if (v != null && !v.isBlank()) {
+                return v.trim();
+            }
+        }
+        return null;
+    }
+
+    // Lee hasta el siguiente '<' y devuelve el nombre de la etiqueta, o null al final del fichero
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            // se descarta el texto fuera de etiquetas que no nos interesa
+        }
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder name = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '>') {
+            name.append((char) c);
+        }
+        return c == -1 ? null : name.toString().trim();
+    }
+
+    // Valor de una etiqueta: texto hasta el siguiente '<' (que se deja sin consumir)
+    private String readValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        reader.mark(1);
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            value.append((char) c);
+            reader.mark(1);
+        }
+        if (c == '<') {
+            reader.reset();
+        }
+        return unescape(value.toString().trim());
+    }
+
+    private String unescape(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
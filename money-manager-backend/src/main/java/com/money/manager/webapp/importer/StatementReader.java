@@ -0,0 +1,11 @@
+package com.money.manager.webapp.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Lector en streaming: devuelve una fila cada vez sin cargar el fichero completo
+public interface StatementReader extends Closeable {
+
+    // Siguiente fila del extracto, o null al llegar al final
+    ImportedRow next() throws IOException;
+}
@@ -0,0 +1,102 @@
+package com.money.manager.webapp.importer;
+
+import com.money.manager.webapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+// Conversión de los valores textuales de los extractos bancarios
+final class StatementValues {
+
+    private static final DateTimeFormatter SPANISH_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter OFX_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private StatementValues() {}
+
+    static LocalDateTime parseDate(String value) {
+        String v = value.trim();
+        try {
+            if (v.contains("T")) {
+                return LocalDateTime.parse(v);
+            }
+            if (v.contains("/")) {
+                return LocalDate.parse(v, SPANISH_DATE).atStartOfDay();
+            }
+            return LocalDate.parse(v).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha no válida: " + value);
+        }
+    }
+
+    // Formato OFX: YYYYMMDD[HHMMSS[.XXX]][[gmt offset:tz]]
+    static LocalDateTime parseOfxDate(String value) {
+        String digits = value.trim().replaceAll("[^0-9].*$", "");
+        try {
+            if (digits.length() >= 14) {
+                return LocalDateTime.parse(digits.substring(0, 14), OFX_DATE_TIME);
+            }
+            if (digits.length() >= 8) {
+                return LocalDate.parse(digits.substring(0, 8), OFX_DATE).atStartOfDay();
+            }
+        } catch (DateTimeParseException e) {
+            // se informa abajo
+        }
+        throw new IllegalArgumentException("Fecha OFX no válida: " + value);
+    }
+
+    // Extractos CSV: el último separador que aparece es el decimal ("1.234,56" o "1,234.56").
+    // Con un solo separador seguido de exactamente tres cifras ("1.234") es de miles
+    static BigDecimal parseAmount(String value) {
+        String v = value.trim().replace(" ", "");
+        int decimal = Math.max(v.lastIndexOf(','), v.lastIndexOf('.'));
+        if (decimal >= 0) {
+            char mark = v.charAt(decimal);
+            char other = mark == ',' ? '.' : ',';
+            boolean grouping = v.indexOf(other) < 0
+                    && (v.indexOf(mark) != decimal || v.length() - decimal - 1 == 3);
+            v = grouping
+                    ? v.replace(String.valueOf(mark), "")
+                    : v.substring(0, decimal).replace(String.valueOf(other), "") + "." + v.substring(decimal + 1);
+        }
+        return toAmount(v, value);
+    }
+
+    // OFX no agrupa miles; el separador decimal puede ser punto o coma
+    static BigDecimal parseOfxAmount(String value) {
+        return toAmount(value.trim().replace(',', '.'), value);
+    }
+
+    private static BigDecimal toAmount(String normalized, String value) {
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Importe no válido: " + value);
+        }
+    }
+
+    static TransactionType parseType(String value) {
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "INCOME", "INGRESO", "CREDIT" -> TransactionType.INCOME;
+            case "EXPENSE", "GASTO", "DEBIT" -> TransactionType.EXPENSE;
+            default -> throw new IllegalArgumentException("Tipo no válido: " + value);
+        };
+    }
+
+    static String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
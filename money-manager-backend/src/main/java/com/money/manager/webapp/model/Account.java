@@ -1,14 +1,19 @@
 package com.money.manager.webapp.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "accounts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -20,6 +25,9 @@ public class Account {
     @Column(nullable = false)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    @Column(nullable = false, length = 3)
+    private String currency; // ISO 4217; si no llega, la divisa base del usuario
+
     @Column(nullable = false)
     private Long userId; // Relación con el usuario propietario
 
@@ -35,6 +43,17 @@ public class Account {
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
 
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
+
+    // Cuentas creadas sin pasar por AccountService: mismo valor por defecto que la columna
+    @PrePersist
+    void defaultCurrency() {
+        if (currency == null) {
+            currency = "EUR";
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.money.manager.webapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Una fila por cuenta y día con movimientos. Guarda el flujo acumulado (no el saldo) para que
+// el histórico siga cuadrando aunque el saldo de la cuenta se edite a mano.
+@Entity
+@Table(name = "account_daily_balances")
+@IdClass(AccountDailyBalance.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDailyBalance {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "balance_date")
+    private LocalDate date;
+
+    @Column(name = "cumulative_flow", nullable = false, precision = 38, scale = 2)
+    private BigDecimal cumulativeFlow; // suma de ingresos - gastos hasta este día incluido
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate date;
+    }
+}
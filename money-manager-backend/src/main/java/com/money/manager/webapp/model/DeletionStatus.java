@@ -0,0 +1,8 @@
+package com.money.manager.webapp.model;
+
+public enum DeletionStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
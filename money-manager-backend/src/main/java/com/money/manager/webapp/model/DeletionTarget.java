@@ -0,0 +1,6 @@
+package com.money.manager.webapp.model;
+
+public enum DeletionTarget {
+    ACCOUNT,
+    CATEGORY
+}
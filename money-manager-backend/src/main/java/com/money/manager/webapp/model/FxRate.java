@@ -0,0 +1,27 @@
+package com.money.manager.webapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+@Table(name = "fx_rates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRate {
+
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate; // unidades de esta divisa por 1 EUR
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
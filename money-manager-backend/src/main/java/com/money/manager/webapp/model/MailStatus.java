@@ -0,0 +1,8 @@
+package com.money.manager.webapp.model;
+
+public enum MailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD // agotó los reintentos
+}
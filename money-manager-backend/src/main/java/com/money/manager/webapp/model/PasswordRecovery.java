@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_recovery")
+@Table(name = "password_recovery", indexes = {
+        @Index(name = "idx_password_recovery_email", columnList = "email", unique = true),
+        @Index(name = "idx_password_recovery_expiration", columnList = "expiration")
+})
 public class PasswordRecovery {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_recovery_seq")
+    @SequenceGenerator(name = "password_recovery_seq", sequenceName = "password_recovery_seq", allocationSize = 50)
     private Long id;
 
     private String email;
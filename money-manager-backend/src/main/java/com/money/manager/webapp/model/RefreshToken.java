@@ -1,23 +0,0 @@
-package com.money.manager.webapp.model;
-
-import jakarta.persistence.*;
-import lombok.Data;
-import java.time.Instant;
-
-@Entity(name = "refresh_token")
-@Data
-public class RefreshToken {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @OneToOne
-    @JoinColumn(name = "user_id", referencedColumnName = "id")
-    private User user;
-
-    @Column(nullable = false, unique = true)
-    private String token;
-
-    @Column(nullable = false)
-    private Instant expiryDate;
-}
\ No newline at end of file
@@ -10,7 +10,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "external_id"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -43,4 +45,7 @@ public class Transaction {
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
+
+    @Column(name = "external_id", length = 64)
+    private String externalId; // identificador del movimiento en el extracto importado
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.money.manager.webapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Una sesión de refresco por dispositivo. El token solo viaja en la cookie; aquí queda su SHA-256
+@Entity
+@Table(name = "user_sessions", indexes = {
+        @Index(name = "idx_user_sessions_token", columnList = "token_hash", unique = true),
+        @Index(name = "idx_user_sessions_user", columnList = "user_id, last_used_at"),
+        @Index(name = "idx_user_sessions_expires", columnList = "expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_sessions_seq")
+    @SequenceGenerator(name = "user_sessions_seq", sequenceName = "user_sessions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(length = 255)
+    private String device; // User-Agent del login
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_used_at", nullable = false)
+    private Instant lastUsedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
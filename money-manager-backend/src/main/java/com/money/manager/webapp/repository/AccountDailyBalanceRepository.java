@@ -0,0 +1,61 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.model.AccountDailyBalance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, AccountDailyBalance.Key> {
+
+    Optional<AccountDailyBalance> findFirstByAccountIdOrderByDateDesc(Long accountId);
+
+    Optional<AccountDailyBalance> findFirstByAccountIdAndDateLessThanEqualOrderByDateDesc(Long accountId, LocalDate date);
+
+    List<AccountDailyBalance> findByAccountIdAndDateBetweenOrderByDate(Long accountId, LocalDate from, LocalDate to);
+
+    // Crea la fila del día arrastrando el acumulado del día anterior con movimientos.
+    // HINT_NATIVE_SPACES: sin él, Hibernate vacía todas las regiones de la caché de segundo nivel
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_daily_balances"))
+    @Query(value = """
+            insert into account_daily_balances (account_id, balance_date, cumulative_flow)
+            select :accountId, :day, coalesce((select b.cumulative_flow from account_daily_balances b
+                                                where b.account_id = :accountId and b.balance_date < :day
+                                                order by b.balance_date desc limit 1), 0)
+            where not exists (select 1 from account_daily_balances b
+                              where b.account_id = :accountId and b.balance_date = :day)
+            """, nativeQuery = true)
+    int insertDayIfMissing(@Param("accountId") Long accountId, @Param("day") LocalDate day);
+
+    // Un movimiento con fecha pasada desplaza el acumulado de ese día y de todos los posteriores
+    @Modifying
+    @Query("update AccountDailyBalance b set b.cumulativeFlow = b.cumulativeFlow + :delta "
+            + "where b.accountId = :accountId and b.date >= :day")
+    int shiftFrom(@Param("accountId") Long accountId, @Param("day") LocalDate day, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("delete from AccountDailyBalance b where b.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_daily_balances"))
+    @Query(value = """
+            insert into account_daily_balances (account_id, balance_date, cumulative_flow)
+            select d.account_id, d.flow_date, sum(d.flow) over (order by d.flow_date)
+            from (select t.account_id, cast(t.transaction_date as date) as flow_date,
+                         sum(case when t.type = 'INCOME' then t.amount else -t.amount end) as flow
+                  from transactions t
+                  where t.account_id = :accountId
+                  group by t.account_id, cast(t.transaction_date as date)) d
+            """, nativeQuery = true)
+    int rebuildFromTransactions(@Param("accountId") Long accountId);
+}
@@ -2,11 +2,33 @@ package com.money.manager.webapp.repository;
 
 
 import com.money.manager.webapp.model.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Account> findByUserId(Long userId);
+
+    // Incremento atómico en base de datos: no hay lectura-modificación-escritura en Java
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :delta where a.id = :id")
+    int adjustBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    @Query("select a.id from Account a order by a.id")
+    List<Long> findAllIds();
+
+    // Mismo bloqueo de fila que toma adjustBalance: serializa con las altas y bajas de movimientos
+    @Query(value = "select id from accounts where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
 }
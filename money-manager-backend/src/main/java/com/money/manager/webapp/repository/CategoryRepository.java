@@ -2,13 +2,18 @@ package com.money.manager.webapp.repository;
 
 import com.money.manager.webapp.model.Category;
 import com.money.manager.webapp.model.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByUserId(Long userId);
+
     List<Category> findByUserIdAndType(Long userId, TransactionType type);
 }
\ No newline at end of file
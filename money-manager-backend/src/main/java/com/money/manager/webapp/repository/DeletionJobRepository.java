@@ -0,0 +1,43 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.model.DeletionJob;
+import com.money.manager.webapp.model.DeletionStatus;
+import com.money.manager.webapp.model.DeletionTarget;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DeletionJobRepository extends JpaRepository<DeletionJob, Long> {
+
+    // SKIP LOCKED: cada trabajo lo procesa un único nodo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<DeletionJob> findByStatusOrderByCreatedAt(DeletionStatus status, Limit limit);
+
+    Optional<DeletionJob> findByIdAndUserId(Long id, Long userId);
+
+    Optional<DeletionJob> findFirstByTargetAndTargetIdAndStatusIn(DeletionTarget target, Long targetId,
+                                                                  Collection<DeletionStatus> statuses);
+
+    // Avance de un tramo; renueva también la reclamación
+    @Modifying
+    @Query("update DeletionJob j set j.processedRows = j.processedRows + :rows, j.claimedAt = :now where j.id = :id")
+    int recordProgress(@Param("id") Long id, @Param("rows") long rows, @Param("now") Instant now);
+
+    // Trabajos de un nodo que se cayó: claimedAt se renueva en cada tramo
+    @Modifying
+    @Query("update DeletionJob j set j.status = com.money.manager.webapp.model.DeletionStatus.PENDING "
+            + "where j.status = com.money.manager.webapp.model.DeletionStatus.RUNNING and j.claimedAt < :before")
+    int releaseStaleClaims(@Param("before") Instant before);
+}
@@ -0,0 +1,7 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.model.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+}
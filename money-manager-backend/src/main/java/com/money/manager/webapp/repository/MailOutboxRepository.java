@@ -0,0 +1,38 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.model.MailOutbox;
+import com.money.manager.webapp.model.MailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // SKIP LOCKED: varias instancias pueden despachar a la vez sin tomar los mismos correos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<MailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(MailStatus status, Instant now, Limit limit);
+
+    // Correos reclamados por un nodo que se cayó antes de terminar el envío
+    @Modifying
+    @Query("update MailOutbox m set m.status = com.money.manager.webapp.model.MailStatus.PENDING "
+            + "where m.status = com.money.manager.webapp.model.MailStatus.SENDING and m.claimedAt < :before")
+    int releaseStaleClaims(@Param("before") Instant before);
+
+    // Retención: enviados y perdidos, ya sin cuerpo
+    @Modifying
+    @Query("delete from MailOutbox m where m.status in (com.money.manager.webapp.model.MailStatus.SENT, "
+            + "com.money.manager.webapp.model.MailStatus.DEAD) and m.createdAt < :before")
+    int deleteFinishedBefore(@Param("before") Instant before);
+
+    long countByStatus(MailStatus status);
+}
@@ -3,10 +3,23 @@ package com.money.manager.webapp.repository;
 
 import com.money.manager.webapp.model.PasswordRecovery;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.List;
 
+// Solo la usa RecoveryCodeStore para su copia write-behind
 public interface PasswordRecoveryRepository extends JpaRepository<PasswordRecovery, Long> {
-    Optional<PasswordRecovery> findByEmail(String email);
-    void deleteByEmail(String email);
-}
\ No newline at end of file
+
+    List<PasswordRecovery> findByExpirationAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("delete from PasswordRecovery r where r.email = :email")
+    int deleteByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("delete from PasswordRecovery r where r.expiration < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,16 +0,0 @@
-package com.money.manager.webapp.repository;
-
-import com.money.manager.webapp.model.RefreshToken;
-import com.money.manager.webapp.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.stereotype.Repository;
-import java.util.Optional;
-
-@Repository
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
-    Optional<RefreshToken> findByUser(User user);
-    @Modifying
-    int deleteByUser(User user);
-}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.dto.AccountTotalResponse;
+import com.money.manager.webapp.dto.CategoryTotalResponse;
+import com.money.manager.webapp.dto.MonthlyTotalResponse;
+import com.money.manager.webapp.dto.TypeTotalResponse;
+import com.money.manager.webapp.model.Transaction;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Agregaciones sobre la tabla transactions: solo viajan las filas agrupadas
+public interface ReportRepository extends Repository<Transaction, Long> {
+
+    @Query("""
+            select new com.money.manager.webapp.dto.TypeTotalResponse(t.type, sum(t.amount), count(t))
+            from Transaction t
+            where t.userId = :userId and t.date >= :from and t.date < :to
+            group by t.type
+            """)
+    List<TypeTotalResponse> sumByType(@Param("userId") Long userId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.money.manager.webapp.dto.MonthlyTotalResponse(
+                year(t.date), month(t.date), t.type, sum(t.amount), count(t))
+            from Transaction t
+            where t.userId = :userId and t.date >= :from and t.date < :to
+            group by year(t.date), month(t.date), t.type
+            order by year(t.date), month(t.date), t.type
+            """)
+    List<MonthlyTotalResponse> sumByMonth(@Param("userId") Long userId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.money.manager.webapp.dto.CategoryTotalResponse(t.categoryId, t.type, sum(t.amount), count(t))
+            from Transaction t
+            where t.userId = :userId and t.date >= :from and t.date < :to
+            group by t.categoryId, t.type
+            order by sum(t.amount) desc
+            """)
+    List<CategoryTotalResponse> sumByCategory(@Param("userId") Long userId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.money.manager.webapp.dto.AccountTotalResponse(a.id, a.name, t.type, sum(t.amount), count(t))
+            from Transaction t join t.account a
+            where t.userId = :userId and a.userId = :userId and t.date >= :from and t.date < :to
+            group by a.id, a.name, t.type
+            order by a.name, t.type
+            """)
+    List<AccountTotalResponse> sumByAccount(@Param("userId") Long userId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+}
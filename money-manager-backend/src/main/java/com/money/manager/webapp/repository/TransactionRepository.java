@@ -1,13 +1,98 @@
 package com.money.manager.webapp.repository;
 
 
+import com.money.manager.webapp.dto.AccountDayFlow;
+import com.money.manager.webapp.dto.TransactionResponse;
 import com.money.manager.webapp.model.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUserId(Long userId);
-    List<Transaction> findByAccountIdAndUserId(Long accountId, Long userId);
-    List<Transaction> findByCategoryId(Long categoryId);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
+    @Query("""
+            select new com.money.manager.webapp.dto.TransactionResponse(
+                t.id, t.description, t.amount, t.type, t.date, a.name, t.categoryId)
+            from Transaction t join t.account a
+            where t.userId = :userId and a.userId = :userId
+            order by t.date desc, t.id desc
+            """)
+    List<TransactionResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.money.manager.webapp.dto.TransactionResponse(
+                t.id, t.description, t.amount, t.type, t.date, a.name, t.categoryId)
+            from Transaction t join t.account a
+            where a.id = :accountId and t.userId = :userId
+            order by t.date desc, t.id desc
+            """)
+    List<TransactionResponse> findResponsesByAccountIdAndUserId(@Param("accountId") Long accountId,
+                                                                @Param("userId") Long userId);
+
+    @Query("select count(t) from Transaction t where t.account.id = :accountId")
+    long countByAccountId(@Param("accountId") Long accountId);
+
+    @Query("select count(t) from Transaction t where t.categoryId = :categoryId and t.userId = :userId")
+    long countByCategoryId(@Param("categoryId") Long categoryId, @Param("userId") Long userId);
+
+    // Tramos de los borrados en segundo plano: solo viajan ids, sin ordenar
+    @Query("select t.id from Transaction t where t.account.id = :accountId")
+    List<Long> findIdsByAccountId(@Param("accountId") Long accountId, Limit limit);
+
+    @Query("select t.id from Transaction t where t.categoryId = :categoryId and t.userId = :userId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, @Param("userId") Long userId, Limit limit);
+
+    @Query("""
+            select new com.money.manager.webapp.dto.AccountDayFlow(t.account.id, cast(t.date as LocalDate),
+                sum(case when t.type = com.money.manager.webapp.model.TransactionType.INCOME
+                         then t.amount else -t.amount end))
+            from Transaction t
+            where t.id in :ids
+            group by t.account.id, cast(t.date as LocalDate)
+            """)
+    List<AccountDayFlow> sumDailyFlow(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.money.manager.webapp.dto.AccountDayFlow(t.account.id, cast(t.date as LocalDate),
+                sum(case when t.type = com.money.manager.webapp.model.TransactionType.INCOME
+                         then t.amount else -t.amount end))
+            from Transaction t
+            where t.categoryId = :categoryId and t.userId = :userId
+            group by t.account.id, cast(t.date as LocalDate)
+            """)
+    List<AccountDayFlow> sumDailyFlowForCategory(@Param("categoryId") Long categoryId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from Transaction t where t.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Transaction t where t.account.id = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("delete from Transaction t where t.categoryId = :categoryId and t.userId = :userId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("update Transaction t set t.categoryId = :targetId where t.id in :ids")
+    int reassignCategory(@Param("ids") Collection<Long> ids, @Param("targetId") Long targetId);
+
+    @Modifying
+    @Query("update Transaction t set t.categoryId = :targetId where t.categoryId = :categoryId and t.userId = :userId")
+    int reassignCategory(@Param("categoryId") Long categoryId, @Param("targetId") Long targetId,
+                         @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from Transaction t where t.id = :id and t.userId = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select t.externalId from Transaction t where t.account.id = :accountId and t.externalId in :externalIds")
+    Set<String> findExistingExternalIds(@Param("accountId") Long accountId,
+                                        @Param("externalIds") Collection<String> externalIds);
 }
@@ -0,0 +1,25 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.dto.TransactionFilter;
+import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.dto.TransactionSearchHit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+
+    // Página ordenada por (fecha DESC, id DESC) empezando justo después de (afterDate, afterId)
+    List<TransactionResponse> findPage(Long userId, TransactionFilter filter,
+                                       LocalDateTime afterDate, Long afterId, int limit);
+
+    // Cursor sobre todo el historial filtrado; debe consumirse dentro de una transacción
+    Stream<TransactionResponse> streamForExport(Long userId, TransactionFilter filter, int fetchSize);
+
+    // Búsqueda por descripción ordenada por (relevancia DESC, id DESC); solo PostgreSQL
+    List<TransactionSearchHit> searchDescriptions(Long userId, String text, Float afterRank, Long afterId, int limit);
+
+    // Descripciones distintas que empiezan por el prefijo, las más usadas primero; solo PostgreSQL
+    List<String> suggestDescriptions(Long userId, String prefix, int limit);
+}
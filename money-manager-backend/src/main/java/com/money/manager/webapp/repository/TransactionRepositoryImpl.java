@@ -0,0 +1,185 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.dto.TransactionFilter;
+import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.dto.TransactionSearchHit;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Transaction;
+import com.money.manager.webapp.model.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    // Coincide por palabras (con raíces en español) o por subcadena; la relevancia suma ambas.
+    // Las expresiones son las mismas que las de idx_transactions_fts e idx_transactions_trgm
+    private static final String SEARCH_SQL = """
+            select t.id, t.description, t.amount, t.type, t.transaction_date, a.name, t.category_id, r.rank
+            from transactions t
+            join accounts a on a.id = t.account_id and a.user_id = :userId
+            cross join websearch_to_tsquery('spanish', :text) q
+            cross join lateral (select ts_rank_cd(to_tsvector('spanish', t.description), q)
+                                           + similarity(t.description, :text) as rank) r
+            where t.user_id = :userId
+              and (to_tsvector('spanish', t.description) @@ q or t.description ilike :pattern escape '\\')
+            """;
+
+    private static final String SEARCH_AFTER_SQL = """
+              and (r.rank < :afterRank or (r.rank = :afterRank and t.id < :afterId))
+            """;
+
+    private static final String SUGGEST_SQL = """
+            select t.description
+            from transactions t
+            where t.user_id = :userId and lower(t.description) like :pattern escape '\\'
+            group by t.description
+            order by count(*) desc, max(t.transaction_date) desc
+            limit :limit
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionResponse> findPage(Long userId, TransactionFilter filter,
+                                              LocalDateTime afterDate, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        Join<Transaction, Account> account = t.join("account");
+
+        List<Predicate> predicates = filterPredicates(cb, t, userId, filter);
+
+        // Keyset: (date, id) < (afterDate, afterId)
+        if (afterDate != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(t.get("date"), afterDate),
+                    cb.and(cb.equal(t.get("date"), afterDate), cb.lessThan(t.get("id"), afterId))
+            ));
+        }
+
+        query.select(response(cb, t, account))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(t.get("date")), cb.desc(t.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TransactionResponse> streamForExport(Long userId, TransactionFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        Join<Transaction, Account> account = t.join("account");
+
+        query.select(response(cb, t, account))
+                .where(filterPredicates(cb, t, userId, filter).toArray(new Predicate[0]))
+                .orderBy(cb.desc(t.get("date")), cb.desc(t.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TransactionSearchHit> searchDescriptions(Long userId, String text, Float afterRank, Long afterId, int limit) {
+        boolean keyset = afterRank != null && afterId != null;
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(SEARCH_SQL
+                        + (keyset ? SEARCH_AFTER_SQL : "")
+                        + "order by r.rank desc, t.id desc limit :limit")
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("description", String.class)
+                .addScalar("amount", BigDecimal.class)
+                .addScalar("type", String.class)
+                .addScalar("transaction_date", LocalDateTime.class)
+                .addScalar("name", String.class)
+                .addScalar("category_id", Long.class)
+                .addScalar("rank", Float.class)
+                .addSynchronizedQuerySpace("transactions")
+                .setParameter("userId", userId)
+                .setParameter("text", text)
+                .setParameter("pattern", "%" + escapeLike(text) + "%")
+                .setParameter("limit", limit);
+        if (keyset) {
+            query.setParameter("afterRank", afterRank).setParameter("afterId", afterId);
+        }
+
+        return query.getResultList().stream()
+                .map(row -> new TransactionSearchHit(new TransactionResponse(
+                        (Long) row[0], (String) row[1], (BigDecimal) row[2], TransactionType.valueOf((String) row[3]),
+                        (LocalDateTime) row[4], (String) row[5], (Long) row[6]), (Float) row[7]))
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> suggestDescriptions(Long userId, String prefix, int limit) {
+        return entityManager.createNativeQuery(SUGGEST_SQL, String.class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("transactions")
+                .setParameter("userId", userId)
+                .setParameter("pattern", escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%")
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Proyección a DTO con el nombre de la cuenta en el mismo JOIN: sin entidades gestionadas ni N+1
+    private CompoundSelection<TransactionResponse> response(CriteriaBuilder cb, Root<Transaction> t,
+                                                            Join<Transaction, Account> account) {
+        return cb.construct(TransactionResponse.class,
+                t.get("id"), t.get("description"), t.get("amount"), t.get("type"),
+                t.get("date"), account.get("name"), t.get("categoryId"));
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Transaction> t, Long userId, TransactionFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(t.get("userId"), userId));
+
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("date"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(t.get("date"), filter.getTo()));
+        }
+        if (filter.getType() != null) {
+            predicates.add(cb.equal(t.get("type"), filter.getType()));
+        }
+        if (filter.getCategoryId() != null) {
+            predicates.add(cb.equal(t.get("categoryId"), filter.getCategoryId()));
+        }
+        if (filter.getAccountId() != null) {
+            predicates.add(cb.equal(t.get("account").get("id"), filter.getAccountId()));
+        }
+        if (filter.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("amount"), filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.get("amount"), filter.getMaxAmount()));
+        }
+        return predicates;
+    }
+}
@@ -3,9 +3,7 @@ package com.money.manager.webapp.repository;
 import com.money.manager.webapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
-
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+// findByEmail lo implementa UserRepositoryImpl a través de la caché de natural-id
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     boolean existsByEmail(String email);
 }
@@ -0,0 +1,10 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findByEmail(String email);
+}
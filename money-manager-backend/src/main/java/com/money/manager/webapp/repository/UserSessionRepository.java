@@ -0,0 +1,47 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.dto.SessionLookup;
+import com.money.manager.webapp.model.UserSession;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
+
+    @Query("select new com.money.manager.webapp.dto.SessionLookup(s.id, s.userId, u.email, s.expiresAt) "
+            + "from UserSession s join User u on u.id = s.userId where s.tokenHash = :tokenHash")
+    Optional<SessionLookup> findLookupByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Rotación: solo si nadie la ha rotado antes con el mismo token (0 = token ya usado)
+    @Modifying
+    @Query("update UserSession s set s.tokenHash = :newHash, s.lastUsedAt = :now, s.expiresAt = :expiresAt "
+            + "where s.id = :id and s.tokenHash = :oldHash")
+    int rotate(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash,
+               @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    // De la más usada a la menos: lo que pase del límite de dispositivos se cierra
+    @Query("select s.id from UserSession s where s.userId = :userId order by s.lastUsedAt desc, s.id desc")
+    List<Long> findIdsByUserIdNewestFirst(@Param("userId") Long userId);
+
+    @Query("select s.id from UserSession s where s.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") Instant now, Limit limit);
+
+    @Modifying
+    @Query("delete from UserSession s where s.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from UserSession s where s.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("delete from UserSession s where s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
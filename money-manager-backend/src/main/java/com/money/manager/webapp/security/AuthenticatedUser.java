@@ -0,0 +1,22 @@
+package com.money.manager.webapp.security;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// Principal construido a partir de los claims del JWT, sin consultar la base de datos
+@Getter
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String email;
+
+    public AuthenticatedUser(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,52 +1,84 @@
 package com.money.manager.webapp.security;
 
 import com.money.manager.webapp.component.JwtUtils;
+import com.money.manager.webapp.component.TokenClaims;
+import com.money.manager.webapp.logging.RequestIdFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.Cookie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-@Component
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// No es un @Component: SecurityConfig lo registra una única vez dentro de la cadena de seguridad
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final CustomUserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final List<String> publicPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+
+    private final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    // Este filtro corre en cada petición autenticada: su log va con cupo por segundo
+    private final LogSampler debugSampler = new LogSampler(20);
+    private final LogSampler warnSampler = new LogSampler(5);
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, CustomUserDetailsService uds, TokenBlacklistService tokenBlacklistService) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, TokenBlacklistService tokenBlacklistService, List<String> publicPaths,
+                                   MeterRegistry meterRegistry) {
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = uds;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.publicPaths = publicPaths;
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder("security.jwt.filter")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return publicPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, java.io.IOException {
+        // Solo el trabajo del filtro; el resto de la cadena ya lo mide http.server.requests
+        long start = System.nanoTime();
+        Outcome outcome = authenticate(request);
+        timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-        String token = null;
-        String requestURI = request.getRequestURI();
+        filterChain.doFilter(request, response);
+    }
 
-        // Solo mostramos logs para rutas de API protegidas para no saturar
-        boolean isApiRequest = requestURI.startsWith("/api/") && !requestURI.contains("/login") && !requestURI.contains("/register");
+    private Outcome authenticate(HttpServletRequest request) {
+        String token = null;
 
         if (request.getCookies() != null) {
             for (Cookie cookie : request.getCookies()) {
                 if ("accessToken".equals(cookie.getName())) {
                     token = cookie.getValue();
-                    if(isApiRequest) System.out.println(" Cookie accessToken encontrada: " + (token.length() > 10 ? token.substring(0, 10) + "..." : token));
                     break;
                 }
             }
-        } else {
-            if(isApiRequest) System.out.println("request.getCookies() es NULL en " + requestURI);
         }
 
         if (token == null) {
@@ -57,41 +89,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (token == null) {
-            if(isApiRequest) System.out.println("No se encontró token en Cookies ni Headers para " + requestURI);
-            filterChain.doFilter(request, response);
-            return;
+            debug("Sin token en cookies ni cabeceras para {}", request.getRequestURI());
+            return Outcome.ANONYMOUS;
         }
 
         try {
-            if (!jwtUtils.validateToken(token)) {
-                System.out.println("validateToken devolvió FALSE. Token inválido o expirado.");
-                filterChain.doFilter(request, response);
-                return;
+            TokenClaims claims = jwtUtils.parseAndVerify(token).orElse(null);
+            if (claims == null) {
+                debug("Token inválido o expirado para {}", request.getRequestURI());
+                return Outcome.INVALID;
             }
 
-            if (tokenBlacklistService.isTokenBlacklisted(token)) {
-                System.out.println("El token está en la BLACKLIST.");
-                filterChain.doFilter(request, response);
-                return;
+            if (tokenBlacklistService.isRevoked(claims.getTokenId())) {
+                debug("Token revocado: {}", claims.getTokenId());
+                return Outcome.REVOKED;
             }
 
-            String username = jwtUtils.getUsernameFromToken(token);
-            System.out.println("Usuario extraído del token: " + username);
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            String username = claims.getSubject();
+            Long userId = claims.getUserId();
+            if (userId == null) {
+                // Token emitido antes de incluir el id de usuario: se obliga a renovarlo
+                debug("Token sin id de usuario para {}", username);
+                return Outcome.INVALID;
+            }
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+                    new AuthenticatedUser(userId, username), null, List.of());
 
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            System.out.println("Autenticación establecida en SecurityContext para: " + username);
+            MDC.put(RequestIdFilter.USER_ID, String.valueOf(userId));
+            debug("Petición autenticada para el usuario {}", userId);
+            return Outcome.AUTHENTICATED;
 
         } catch (Exception ex) {
-            System.out.println("Excepción procesando JWT: " + ex.getMessage());
-            ex.printStackTrace();
+            if (warnSampler.sample()) {
+                logger.warn("Error procesando el JWT", ex);
+            }
+            return Outcome.INVALID;
         }
+    }
 
-        filterChain.doFilter(request, response);
+    // El nivel se comprueba antes de gastar cupo: con DEBUG apagado no cuesta nada
+    private void debug(String message, Object argument) {
+        if (logger.isDebugEnabled() && debugSampler.sample()) {
+            logger.debug(message, argument);
+        }
+    }
+
+    private enum Outcome {
+        AUTHENTICATED, ANONYMOUS, INVALID, REVOKED
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.money.manager.webapp.security;
+
+import java.util.concurrent.TimeUnit;
+
+// Cupo de líneas de log por segundo (mismo cubo que el limitador de peticiones). Con carga, el
+// exceso se descarta en lugar de convertir el log en el cuello de botella
+final class LogSampler {
+
+    private static final long PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final TokenBucket bucket = new TokenBucket(System.nanoTime());
+    private final long intervalNanos;
+
+    LogSampler(int linesPerSecond) {
+        this.intervalNanos = PERIOD_NANOS / linesPerSecond;
+    }
+
+    boolean sample() {
+        return bucket.tryAcquire(System.nanoTime(), intervalNanos, PERIOD_NANOS) == 0;
+    }
+}
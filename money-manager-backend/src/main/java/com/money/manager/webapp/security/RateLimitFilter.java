@@ -0,0 +1,179 @@
+package com.money.manager.webapp.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+// No es un @Component: SecurityConfig lo coloca delante de JwtAuthenticationFilter, así que una
+// petición rechazada no llega a tocar la base de datos, BCrypt ni el correo
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Los cuerpos de login, registro y recuperación son de unos cientos de bytes
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+    private static final int MAX_EMAIL_LENGTH = 320;
+
+    private final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod())
+                || rateLimiter.route(path(request)).isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.RouteLimiter route = rateLimiter.route(path(request)).orElseThrow();
+
+        HttpServletRequest forwarded = request;
+        String email = null;
+        if (route.limitsEmail()) {
+            email = request.getParameter("email");
+            if (email == null) {
+                byte[] body = readSmallJsonBody(request);
+                if (body != null) {
+                    forwarded = new CachedBodyRequest(request, body);
+                    email = emailFromJson(body);
+                }
+            }
+        }
+
+        // getRemoteAddr ya refleja X-Forwarded-For si server.forward-headers-strategy lo permite
+        long retryAfter = route.tryAcquire(request.getRemoteAddr(), normalize(email));
+        if (retryAfter > 0) {
+            logger.debug("Petición limitada en {} desde {}", route.getName(), request.getRemoteAddr());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Demasiadas peticiones, inténtalo más tarde");
+            return;
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    // Sin depender de getServletPath, que está vacío fuera del DispatcherServlet (MockMvc)
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    // Solo cuerpos JSON con longitud conocida y pequeña; si no, se limita únicamente por IP
+    private static byte[] readSmallJsonBody(HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        long length = request.getContentLengthLong();
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).contains("json")
+                || length <= 0 || length > MAX_BODY_BYTES) {
+            return null;
+        }
+        return request.getInputStream().readNBytes((int) length);
+    }
+
+    private String emailFromJson(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() ? email.asText() : null;
+        } catch (IOException e) {
+            // JSON inválido: lo rechazará el controlador
+            return null;
+        }
+    }
+
+    private static String normalize(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        return key.length() > MAX_EMAIL_LENGTH ? key.substring(0, MAX_EMAIL_LENGTH) : key;
+    }
+
+    // Devuelve al resto de la cadena el cuerpo ya leído
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.money.manager.webapp.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // Claves distintas como máximo por ruta y dimensión (IP o email)
+    private int maxKeys = 100_000;
+    // Rutas en orden: la primera cuyo patrón encaja es la que se aplica
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private List<String> paths = new ArrayList<>();
+        private Limit ip;
+        private Limit email;
+    }
+
+    // capacity peticiones seguidas como máximo; se recupera una cada period / capacity
+    @Data
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+    }
+}
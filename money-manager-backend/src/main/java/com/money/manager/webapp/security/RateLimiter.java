@@ -0,0 +1,184 @@
+package com.money.manager.webapp.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cubos por IP y por email para los endpoints públicos (security.ratelimit.routes)
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private static final long SWEEP_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<RouteLimiter> routes = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitProperties properties) {
+        if (properties.isEnabled()) {
+            properties.getRoutes().forEach((name, route) ->
+                    routes.add(new RouteLimiter(name, route, properties.getMaxKeys())));
+        }
+    }
+
+    public Optional<RouteLimiter> route(String path) {
+        for (RouteLimiter route : routes) {
+            if (route.paths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+                return Optional.of(route);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Peticiones rechazadas desde el arranque, por "ruta.ip" y "ruta.email"
+    public Map<String, Long> throttledCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (RouteLimiter route : routes) {
+            if (route.ip != null) {
+                counts.put(route.name + ".ip", route.ip.throttled.sum());
+            }
+            if (route.email != null) {
+                counts.put(route.name + ".email", route.email.throttled.sum());
+            }
+        }
+        return counts;
+    }
+
+    // security.ratelimit.throttled y security.ratelimit.keys, por route y key=ip|email
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RouteLimiter route : routes) {
+            if (route.ip != null) {
+                bind(registry, route.name, "ip", route.ip);
+            }
+            if (route.email != null) {
+                bind(registry, route.name, "email", route.email);
+            }
+        }
+    }
+
+    private static void bind(MeterRegistry registry, String route, String key, Buckets buckets) {
+        FunctionCounter.builder("security.ratelimit.throttled", buckets.throttled, LongAdder::sum)
+                .tag("route", route)
+                .tag("key", key)
+                .register(registry);
+        registry.gauge("security.ratelimit.keys", List.of(
+                Tag.of("route", route),
+                Tag.of("key", key)), buckets.buckets, Map::size);
+    }
+
+    // Los cubos llenos no aportan nada: quitarlos mantiene los mapas en las claves activas
+    @Scheduled(fixedDelayString = "${security.ratelimit.sweepIntervalMs:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (RouteLimiter route : routes) {
+            if (route.ip != null) {
+                route.ip.evictFull(now);
+            }
+            if (route.email != null) {
+                route.email.evictFull(now);
+            }
+        }
+    }
+
+    public static final class RouteLimiter {
+
+        private final String name;
+        private final List<String> paths;
+        private final Buckets ip;
+        private final Buckets email;
+
+        private RouteLimiter(String name, RateLimitProperties.Route route, int maxKeys) {
+            this.name = name;
+            this.paths = List.copyOf(route.getPaths());
+            this.ip = route.getIp() != null ? new Buckets(route.getIp(), maxKeys) : null;
+            this.email = route.getEmail() != null ? new Buckets(route.getEmail(), maxKeys) : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean limitsEmail() {
+            return email != null;
+        }
+
+        // 0 si se admite; si no, segundos para reintentar
+        public long tryAcquire(String clientIp, String emailKey) {
+            long now = System.nanoTime();
+            long wait = ip != null ? ip.tryAcquire(clientIp, now) : 0;
+            if (wait == 0 && email != null && emailKey != null) {
+                wait = email.tryAcquire(emailKey, now);
+            }
+            return wait == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999));
+        }
+    }
+
+    private static final class Buckets {
+
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final long intervalNanos;
+        private final long periodNanos;
+        private final int maxKeys;
+        private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+        // Con el mapa lleno de claves activas, las nuevas comparten este cubo
+        private final TokenBucket overflow;
+        private final LongAdder throttled = new LongAdder();
+
+        private Buckets(RateLimitProperties.Limit limit, int maxKeys) {
+            if (limit.getCapacity() < 1 || limit.getPeriod() == null || limit.getPeriod().isNegative()
+                    || limit.getPeriod().isZero()) {
+                throw new IllegalArgumentException("Límite de peticiones mal configurado: " + limit);
+            }
+            this.periodNanos = limit.getPeriod().toNanos();
+            this.intervalNanos = periodNanos / limit.getCapacity();
+            this.maxKeys = maxKeys;
+            this.overflow = new TokenBucket(System.nanoTime());
+        }
+
+        private long tryAcquire(String key, long now) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = admit(key, now);
+            }
+            long wait = bucket.tryAcquire(now, intervalNanos, periodNanos);
+            if (wait > 0) {
+                throttled.increment();
+            }
+            return wait;
+        }
+
+        private TokenBucket admit(String key, long now) {
+            if (buckets.size() >= maxKeys) {
+                // Como mucho un barrido por segundo aunque lleguen muchas claves nuevas
+                long last = lastSweep.get();
+                if (now - last > SWEEP_BACKOFF_NANOS && lastSweep.compareAndSet(last, now)) {
+                    evictFull(now);
+                }
+                if (buckets.size() >= maxKeys) {
+                    return overflow;
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+
+        // Un hilo que acaba de leer un cubo lleno que se quita admite una petición sin anotarla:
+        // el cubo estaba lleno, así que se habría admitido igualmente
+        private void evictFull(long now) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.money.manager.webapp.security;
+
+import com.money.manager.webapp.model.PasswordRecovery;
+import com.money.manager.webapp.repository.PasswordRecoveryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Códigos de recuperación en memoria. La tabla password_recovery es solo una copia opcional
+// (write-behind) para no perder los códigos en un reinicio
+@Service
+public class RecoveryCodeStore {
+
+    private final Logger logger = LoggerFactory.getLogger(RecoveryCodeStore.class);
+
+    private final ConcurrentHashMap<String, Code> codes = new ConcurrentHashMap<>();
+    // El TTL es fijo: el orden de emisión es el de caducidad y el barrido solo mira la cabeza
+    private final ConcurrentLinkedQueue<Code> byExpiry = new ConcurrentLinkedQueue<>();
+    // Emails cambiados desde el último volcado a la tabla
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final SecureRandom random = new SecureRandom();
+    private final PasswordRecoveryRepository recoveryRepo;
+    private final TransactionTemplate tx;
+
+    private final Duration ttl;
+    private final int maxAttempts;
+    // Umbral de aviso, no un límite: rechazar el código dejaría al usuario sin poder recuperar la
+    // cuenta. Lo que acota el tamaño es el TTL y el límite de peticiones por IP y email
+    private final int warnEntries;
+    private final boolean persistent;
+
+    public RecoveryCodeStore(PasswordRecoveryRepository recoveryRepo,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${security.recovery.ttlMs:600000}") long ttlMs,
+                             @Value("${security.recovery.maxAttempts:3}") int maxAttempts,
+                             @Value("${security.recovery.warnEntries:100000}") int warnEntries,
+                             @Value("${security.recovery.persistent:false}") boolean persistent) {
+        this.recoveryRepo = recoveryRepo;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.maxAttempts = maxAttempts;
+        this.warnEntries = warnEntries;
+        this.persistent = persistent;
+    }
+
+    // Un código nuevo sustituye al anterior del mismo email
+    public Code issue(String email) {
+        Instant now = Instant.now();
+        if (codes.size() >= warnEntries) {
+            evictExpired(now);
+            if (codes.size() >= warnEntries) {
+                logger.warn("Almacén de códigos de recuperación por encima del umbral ({} entradas)", codes.size());
+            }
+        }
+        Code code = new Code(email, String.valueOf(100000 + random.nextInt(900000)), now.plus(ttl), maxAttempts, false);
+        codes.put(email, code);
+        byExpiry.add(code);
+        changed(email);
+        return code;
+    }
+
+    public Optional<Code> find(String email) {
+        return Optional.ofNullable(codes.get(email));
+    }
+
+    // Gasta un intento antes de comparar: con peticiones simultáneas nunca se comparan más de maxAttempts
+    public boolean tryAttempt(Code code) {
+        if (code.attemptsRemaining.getAndUpdate(n -> n > 0 ? n - 1 : 0) <= 0) {
+            return false;
+        }
+        changed(code.email);
+        return true;
+    }
+
+    public void markVerified(Code code) {
+        code.verified = true;
+        changed(code.email);
+    }
+
+    public void remove(String email) {
+        if (codes.remove(email) != null) {
+            changed(email);
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.recovery.sweepIntervalMs:60000}")
+    public void sweep() {
+        evictExpired(Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${security.recovery.flushIntervalMs:1000}")
+    public void flush() {
+        if (!persistent || dirty.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(dirty);
+        dirty.removeAll(batch);
+        try {
+            tx.executeWithoutResult(status -> {
+                for (String email : batch) {
+                    recoveryRepo.deleteByEmail(email);
+                    Code code = codes.get(email);
+                    if (code != null) {
+                        recoveryRepo.save(code.toEntity());
+                    }
+                }
+                recoveryRepo.deleteExpired(LocalDateTime.now());
+            });
+        } catch (RuntimeException e) {
+            // Se reintenta en el siguiente volcado
+            dirty.addAll(batch);
+            logger.warn("No se pudieron guardar {} códigos de recuperación: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    // Con persistencia, los códigos vigentes sobreviven al reinicio
+    @PostConstruct
+    public void load() {
+        if (!persistent) {
+            return;
+        }
+        List<PasswordRecovery> rows = tx.execute(status -> recoveryRepo.findByExpirationAfter(LocalDateTime.now()));
+        rows.stream()
+                .sorted(Comparator.comparing(PasswordRecovery::getExpiration))
+                .map(Code::fromEntity)
+                .forEach(code -> {
+                    codes.put(code.email, code);
+                    byExpiry.add(code);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void evictExpired(Instant now) {
+        Code head;
+        while ((head = byExpiry.peek()) != null && head.isExpired(now)) {
+            byExpiry.poll();
+            // Solo si sigue siendo el código vigente de ese email
+            if (codes.remove(head.email, head)) {
+                changed(head.email);
+            }
+        }
+    }
+
+    private void changed(String email) {
+        if (persistent) {
+            dirty.add(email);
+        }
+    }
+
+    public static final class Code {
+        private final String email;
+        private final String value;
+        private final Instant expiresAt;
+        private final AtomicInteger attemptsRemaining;
+        private volatile boolean verified;
+
+        private Code(String email, String value, Instant expiresAt, int attemptsRemaining, boolean verified) {
+            this.email = email;
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.attemptsRemaining = new AtomicInteger(attemptsRemaining);
+            this.verified = verified;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        public int getAttemptsRemaining() {
+            return attemptsRemaining.get();
+        }
+
+        public boolean isVerified() {
+            return verified;
+        }
+
+        // Comparación en tiempo constante
+        public boolean matches(String candidate) {
+            return candidate != null && MessageDigest.isEqual(value.getBytes(StandardCharsets.UTF_8),
+                    candidate.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private PasswordRecovery toEntity() {
+            PasswordRecovery recovery = new PasswordRecovery(email, value,
+                    LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()), attemptsRemaining.get());
+            recovery.setVerified(verified);
+            return recovery;
+        }
+
+        private static Code fromEntity(PasswordRecovery recovery) {
+            return new Code(recovery.getEmail(), recovery.getCode(),
+                    recovery.getExpiration().atZone(ZoneId.systemDefault()).toInstant(),
+                    recovery.getAttemptsRemaining(), recovery.isVerified());
+        }
+    }
+}
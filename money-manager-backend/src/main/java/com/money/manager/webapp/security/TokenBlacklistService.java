@@ -1,22 +1,108 @@
 package com.money.manager.webapp.security;
 
+import com.money.manager.webapp.model.RevokedToken;
+import com.money.manager.webapp.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class TokenBlacklistService {
 
-    private final Set<String> blacklist = new HashSet<>();
+    private static final long SWEEP_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
 
-    public void addTokenToBlacklist(String token) {
-        blacklist.add(token);
+    private final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
+
+    // jti -> expiración del token; una vez expirado el token ya no hace falta recordarlo
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean persistent;
+    // Umbral de aviso, no un límite: una revocación descartada dejaría válido un token cerrado
+    private final int warnEntries;
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenBlacklistService(RevokedTokenRepository revokedTokenRepository,
+                                 @Value("${security.revocation.persistent:false}") boolean persistent,
+                                 @Value("${security.revocation.warnEntries:100000}") int warnEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.persistent = persistent;
+        this.warnEntries = warnEntries;
     }
 
-    public boolean isTokenBlacklisted(String token) {
-        return blacklist.contains(token);
+    public void revoke(String tokenId, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (tokenId == null || !expiresAt.isAfter(now)) {
+            return;
+        }
+        if (revoked.size() >= warnEntries) {
+            // Como mucho un barrido (y un aviso) por segundo
+            long nanos = System.nanoTime();
+            long last = lastSweep.get();
+            if (nanos - last > SWEEP_BACKOFF_NANOS && lastSweep.compareAndSet(last, nanos)) {
+                evictExpired(now);
+                if (revoked.size() >= warnEntries) {
+                    logger.warn("Almacén de revocaciones por encima del umbral ({} entradas)", revoked.size());
+                }
+            }
+        }
+        revoked.put(tokenId, expiresAt);
+
+        if (persistent) {
+            revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, now));
+        }
     }
 
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
 
-}
\ No newline at end of file
+    @Scheduled(fixedDelayString = "${security.revocation.sweepIntervalMs:60000}")
+    @Transactional
+    public void sweep() {
+        Instant now = Instant.now();
+        evictExpired(now);
+        if (persistent) {
+            revokedTokenRepository.deleteExpired(now);
+        }
+    }
+
+    // Con tabla compartida, cada nodo incorpora las revocaciones hechas por los demás
+    @Scheduled(fixedDelayString = "${security.revocation.syncIntervalMs:10000}")
+    @Transactional(readOnly = true)
+    public void syncFromStore() {
+        if (!persistent) {
+            return;
+        }
+        Instant now = Instant.now();
+        // Margen para no perder revocaciones confirmadas justo durante la sincronización anterior
+        Instant since = lastSync.minus(Duration.ofSeconds(5));
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now)) {
+            revoked.putIfAbsent(token.getTokenId(), token.getExpiresAt());
+        }
+        lastSync = now;
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void evictExpired(Instant now) {
+        revoked.entrySet().removeIf(e -> !e.getValue().isAfter(now));
+    }
+}
@@ -0,0 +1,35 @@
+package com.money.manager.webapp.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cubo de tokens en un único AtomicLong (GCRA): se guarda el instante teórico en el que el cubo
+// vuelve a estar lleno. Admitir una petición lo adelanta un intervalo; si queda más de un periodo
+// por delante, el cubo está vacío
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // 0 si se admite; si no, los nanos que faltan para el siguiente token
+    long tryAcquire(long now, long intervalNanos, long periodNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now < 0 ? now : current) + intervalNanos;
+            long wait = next - now - periodNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Lleno equivale a no haber recibido nada: se puede descartar sin perder estado
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
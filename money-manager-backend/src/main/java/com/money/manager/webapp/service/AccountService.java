@@ -1,24 +1,48 @@
 package com.money.manager.webapp.service;
 
 
+import com.money.manager.webapp.dto.ConsolidatedBalanceResponse;
+import com.money.manager.webapp.dto.ConvertedAccountBalance;
+import com.money.manager.webapp.dto.DeletionJobResponse;
 import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.User;
 import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.UserRepository;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
 
 @Service
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final DataVersionService dataVersionService;
+    private final DeletionService deletionService;
+    private final FxRateService fxRateService;
+    private final UserRepository userRepository;
 
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, DataVersionService dataVersionService,
+                          DeletionService deletionService, FxRateService fxRateService,
+                          UserRepository userRepository) {
         this.accountRepository = accountRepository;
+        this.dataVersionService = dataVersionService;
+        this.deletionService = deletionService;
+        this.fxRateService = fxRateService;
+        this.userRepository = userRepository;
     }
 
     public Account createAccount(Account account) {
-        return accountRepository.save(account);
+        account.setCurrency(account.getCurrency() == null
+                ? baseCurrency(account.getUserId())
+                : fxRateService.requireSupported(account.getCurrency()));
+        Account saved = accountRepository.save(account);
+        dataVersionService.bump(account.getUserId());
+        return saved;
     }
 
     public Optional<Account> getAccount(Long id, Long userId) {
@@ -37,15 +61,47 @@ public class AccountService {
                     a.setName(account.getName());
                     a.setType(account.getType());
                     a.setBalance(account.getBalance());
-                    return accountRepository.save(a);
+                    if (account.getCurrency() != null) {
+                        a.setCurrency(fxRateService.requireSupported(account.getCurrency()));
+                    }
+                    Account saved = accountRepository.save(a);
+                    dataVersionService.bump(userId);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Cuenta no encontrada o no pertenece al usuario"));
     }
 
-    public void deleteAccount(Long id, Long userId) {
-        accountRepository.findById(id)
-                .filter(a -> a.getUserId().equals(userId))
-                .ifPresentOrElse(accountRepository::delete,
-                        () -> { throw new RuntimeException("Cuenta no encontrada o no pertenece al usuario"); });
+    // Todas las cuentas en una divisa, en una pasada y con la misma foto de tipos de cambio
+    public ConsolidatedBalanceResponse getConsolidatedBalance(Long userId, String currency) {
+        String target = currency == null ? baseCurrency(userId) : fxRateService.requireSupported(currency);
+        FxRateService.Snapshot rates = fxRateService.current();
+
+        BigDecimal total = BigDecimal.ZERO;
+        List<ConvertedAccountBalance> accounts = new ArrayList<>();
+        TreeSet<String> missing = new TreeSet<>();
+        for (Account account : accountRepository.findByUserId(userId)) {
+            BigDecimal converted = rates.convert(account.getBalance(), account.getCurrency(), target)
+                    .map(amount -> amount.setScale(2, RoundingMode.HALF_EVEN))
+                    .orElse(null);
+            if (converted == null) {
+                missing.add(account.getCurrency());
+            } else {
+                total = total.add(converted);
+            }
+            accounts.add(new ConvertedAccountBalance(account.getId(), account.getName(), account.getCurrency(),
+                    account.getBalance(), converted));
+        }
+        return new ConsolidatedBalanceResponse(target, total, rates.getAsOf(), accounts, new ArrayList<>(missing));
+    }
+
+    private String baseCurrency(Long userId) {
+        return userRepository.findById(userId)
+                .map(User::getBaseCurrency)
+                .orElse(FxRateService.PIVOT);
+    }
+
+    // Con sus movimientos e histórico; si son muchos, el borrado sigue en segundo plano
+    public Optional<DeletionJobResponse> deleteAccount(Long id, Long userId) {
+        return deletionService.deleteAccount(id, userId);
     }
 }
@@ -0,0 +1,30 @@
+package com.money.manager.webapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Recalcula el histórico de saldos desde las transacciones al arrancar:
+//   java -jar money-manager-webapp.jar --balances.history.rebuild=true
+@Component
+@ConditionalOnProperty(name = "balances.history.rebuild", havingValue = "true")
+public class BalanceHistoryRebuildRunner implements ApplicationRunner {
+
+    private final Logger logger = LoggerFactory.getLogger(BalanceHistoryRebuildRunner.class);
+
+    private final BalanceHistoryService balanceHistoryService;
+
+    public BalanceHistoryRebuildRunner(BalanceHistoryService balanceHistoryService) {
+        this.balanceHistoryService = balanceHistoryService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        int accounts = balanceHistoryService.rebuildAll();
+        logger.info("Histórico de saldos reconstruido para {} cuentas en {} ms", accounts, System.currentTimeMillis() - start);
+    }
+}
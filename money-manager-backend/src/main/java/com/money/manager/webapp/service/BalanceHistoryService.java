@@ -0,0 +1,106 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.BalancePointResponse;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.AccountDailyBalance;
+import com.money.manager.webapp.repository.AccountDailyBalanceRepository;
+import com.money.manager.webapp.repository.AccountRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+public class BalanceHistoryService {
+
+    private static final int DEFAULT_DAYS = 30;
+    private static final int MAX_DAYS = 3660;
+
+    private final AccountDailyBalanceRepository dailyBalanceRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate tx;
+
+    public BalanceHistoryService(AccountDailyBalanceRepository dailyBalanceRepository,
+                                 AccountRepository accountRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.accountRepository = accountRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    // Llamar con la cuenta bloqueada (adjustBalance o lockById): el bloqueo serializa las escrituras del histórico
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long accountId, LocalDate day, BigDecimal delta) {
+        dailyBalanceRepository.insertDayIfMissing(accountId, day);
+        dailyBalanceRepository.shiftFrom(accountId, day, delta);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BalancePointResponse> getHistory(Long accountId, Long userId, LocalDate from, LocalDate to) {
+        Account account = accountRepository.findById(accountId)
+                .filter(a -> a.getUserId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Cuenta no encontrada o no pertenece al usuario"));
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new InvalidRequestException("El rango de fechas no es válido");
+        }
+
+        // saldo(día) = saldo actual - flujo posterior a ese día
+        BigDecimal latestFlow = dailyBalanceRepository.findFirstByAccountIdOrderByDateDesc(accountId)
+                .map(AccountDailyBalance::getCumulativeFlow)
+                .orElse(BigDecimal.ZERO);
+        BigDecimal base = account.getBalance().subtract(latestFlow);
+
+        BigDecimal flow = dailyBalanceRepository.findFirstByAccountIdAndDateLessThanEqualOrderByDateDesc(accountId, start)
+                .map(AccountDailyBalance::getCumulativeFlow)
+                .orElse(BigDecimal.ZERO);
+        Iterator<AccountDailyBalance> changes = dailyBalanceRepository
+                .findByAccountIdAndDateBetweenOrderByDate(accountId, start.plusDays(1), end).iterator();
+        AccountDailyBalance next = changes.hasNext() ? changes.next() : null;
+
+        List<BalancePointResponse> points = new ArrayList<>((int) ChronoUnit.DAYS.between(start, end) + 1);
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (next != null && next.getDate().equals(day)) {
+                flow = next.getCumulativeFlow();
+                next = changes.hasNext() ? changes.next() : null;
+            }
+            points.add(new BalancePointResponse(day, base.add(flow)));
+        }
+        return points;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuild(Long accountId) {
+        dailyBalanceRepository.deleteByAccountId(accountId);
+        dailyBalanceRepository.rebuildFromTransactions(accountId);
+    }
+
+    // Reconstrucción completa, una transacción corta por cuenta
+    public int rebuildAll() {
+        int rebuilt = 0;
+        for (Long accountId : accountRepository.findAllIds()) {
+            Boolean done = tx.execute(status -> {
+                if (accountRepository.lockById(accountId).isEmpty()) {
+                    return false; // borrada mientras tanto
+                }
+                rebuild(accountId);
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+}
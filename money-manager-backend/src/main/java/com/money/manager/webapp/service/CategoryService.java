@@ -1,6 +1,7 @@
 package com.money.manager.webapp.service;
 
 import com.money.manager.webapp.dto.CategoryRequest;
+import com.money.manager.webapp.dto.DeletionJobResponse;
 import com.money.manager.webapp.model.Category;
 import com.money.manager.webapp.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,12 +9,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final DataVersionService dataVersionService;
+    private final DeletionService deletionService;
 
     @Transactional(readOnly = true)
     public List<Category> getAllCategories(Long userId) {
@@ -28,14 +32,13 @@ public class CategoryService {
                 .color(request.getColor() != null ? request.getColor() : "#CCCCCC")
                 .userId(userId)
                 .build();
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        dataVersionService.bump(userId);
+        return saved;
     }
 
-    @Transactional
-    public void deleteCategory(Long id, Long userId) {
-        Category category = categoryRepository.findById(id)
-                .filter(c -> c.getUserId().equals(userId))
-                .orElseThrow(() -> new RuntimeException("Categoría no encontrada"));
-        categoryRepository.delete(category);
+    // Sus movimientos pasan a reassignTo o, si es null, se borran
+    public Optional<DeletionJobResponse> deleteCategory(Long id, Long userId, Long reassignTo) {
+        return deletionService.deleteCategory(id, userId, reassignTo);
     }
 }
\ No newline at end of file
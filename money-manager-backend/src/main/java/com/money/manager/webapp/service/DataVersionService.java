@@ -0,0 +1,43 @@
+package com.money.manager.webapp.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versión monotónica de los datos de cada usuario (cuentas, categorías y transacciones).
+// Vive en memoria: con varias instancias habría que compartirla (p. ej. en la base de datos).
+@Service
+public class DataVersionService {
+
+    // Cambia en cada arranque para que un ETag emitido antes de reiniciar no vuelva a coincidir
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public String etag(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return "\"" + epoch + "-" + (version != null ? version.get() : 0) + "\"";
+    }
+
+    // Se incrementa al terminar la transacción: si se hiciera antes del commit, una lectura
+    // concurrente podría guardar datos antiguos con la versión nueva
+    public void bump(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    increment(userId);
+                }
+            });
+        } else {
+            increment(userId);
+        }
+    }
+
+    private void increment(Long userId) {
+        versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
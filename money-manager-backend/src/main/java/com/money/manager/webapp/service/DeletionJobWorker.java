@@ -0,0 +1,97 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.model.DeletionJob;
+import com.money.manager.webapp.model.DeletionStatus;
+import com.money.manager.webapp.repository.DeletionJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public class DeletionJobWorker {
+
+    private final DeletionJobRepository jobRepository;
+    private final DeletionService deletionService;
+    private final TransactionTemplate tx;
+
+    private final int chunkSize;
+    private final long claimTimeoutMs;
+
+    public DeletionJobWorker(DeletionJobRepository jobRepository,
+                             DeletionService deletionService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${deletion.jobs.chunkSize:1000}") int chunkSize,
+                             @Value("${deletion.jobs.claimTimeoutMs:300000}") long claimTimeoutMs) {
+        this.jobRepository = jobRepository;
+        this.deletionService = deletionService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.claimTimeoutMs = claimTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${deletion.jobs.pollIntervalMs:2000}")
+    public void runPending() {
+        DeletionJob job;
+        while ((job = claim()) != null) {
+            run(job);
+        }
+    }
+
+    private DeletionJob claim() {
+        return tx.execute(status -> {
+            Instant now = Instant.now();
+            jobRepository.releaseStaleClaims(now.minusMillis(claimTimeoutMs));
+
+            List<DeletionJob> next = jobRepository.findByStatusOrderByCreatedAt(DeletionStatus.PENDING, Limit.of(1));
+            if (next.isEmpty()) {
+                return null;
+            }
+            DeletionJob job = next.get(0);
+            job.setStatus(DeletionStatus.RUNNING);
+            job.setClaimedAt(now);
+            return jobRepository.save(job);
+        });
+    }
+
+    // Cada tramo en su propia transacción: los bloqueos duran lo que tarda un tramo
+    private void run(DeletionJob job) {
+        try {
+            int rows;
+            do {
+                rows = tx.execute(status -> {
+                    int processed = deletionService.processChunk(job, chunkSize);
+                    jobRepository.recordProgress(job.getId(), processed, Instant.now());
+                    return processed;
+                });
+            } while (rows == chunkSize);
+
+            tx.executeWithoutResult(status -> {
+                int processed = deletionService.purge(job.getTarget(), job.getTargetId(), job.getUserId(), job.getReassignTo());
+                jobRepository.recordProgress(job.getId(), processed, Instant.now());
+                finish(job.getId(), DeletionStatus.DONE, null);
+            });
+        } catch (Exception e) {
+            tx.executeWithoutResult(status -> finish(job.getId(), DeletionStatus.FAILED, e.getMessage()));
+        }
+    }
+
+    private void finish(Long jobId, DeletionStatus result, String error) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(result);
+            job.setLastError(truncate(error));
+            job.setClaimedAt(null);
+            job.setFinishedAt(Instant.now());
+        });
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,216 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.AccountDayFlow;
+import com.money.manager.webapp.dto.DeletionJobResponse;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.model.DeletionJob;
+import com.money.manager.webapp.model.DeletionStatus;
+import com.money.manager.webapp.model.DeletionTarget;
+import com.money.manager.webapp.repository.AccountDailyBalanceRepository;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.CategoryRepository;
+import com.money.manager.webapp.repository.DeletionJobRepository;
+import com.money.manager.webapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Borrados en cascada con sentencias masivas. Hasta chunkSize movimientos se borra en la propia
+// petición; por encima se crea un DeletionJob que DeletionJobWorker procesa por tramos
+@Service
+public class DeletionService {
+
+    private static final EnumSet<DeletionStatus> ACTIVE = EnumSet.of(DeletionStatus.PENDING, DeletionStatus.RUNNING);
+
+    private final DeletionJobRepository jobRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final AccountDailyBalanceRepository dailyBalanceRepository;
+    private final BalanceHistoryService balanceHistoryService;
+    private final DataVersionService dataVersionService;
+    private final int chunkSize;
+
+    public DeletionService(DeletionJobRepository jobRepository,
+                           TransactionRepository transactionRepository,
+                           AccountRepository accountRepository,
+                           CategoryRepository categoryRepository,
+                           AccountDailyBalanceRepository dailyBalanceRepository,
+                           BalanceHistoryService balanceHistoryService,
+                           DataVersionService dataVersionService,
+                           @Value("${deletion.jobs.chunkSize:1000}") int chunkSize) {
+        this.jobRepository = jobRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.balanceHistoryService = balanceHistoryService;
+        this.dataVersionService = dataVersionService;
+        this.chunkSize = chunkSize;
+    }
+
+    // Vacío si ya se borró; si no, el trabajo que lo hará en segundo plano
+    @Transactional
+    public Optional<DeletionJobResponse> deleteAccount(Long accountId, Long userId) {
+        accountRepository.findById(accountId)
+                .filter(a -> a.getUserId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Cuenta no encontrada o no pertenece al usuario"));
+
+        long rows = transactionRepository.countByAccountId(accountId);
+        if (rows <= chunkSize) {
+            purge(DeletionTarget.ACCOUNT, accountId, userId, null);
+            return Optional.empty();
+        }
+        return Optional.of(enqueue(DeletionTarget.ACCOUNT, accountId, userId, null, rows));
+    }
+
+    // reassignTo == null: los movimientos de la categoría se borran y se corrigen los saldos
+    @Transactional
+    public Optional<DeletionJobResponse> deleteCategory(Long categoryId, Long userId, Long reassignTo) {
+        Category category = categoryRepository.findById(categoryId)
+                .filter(c -> c.getUserId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Categoría no encontrada"));
+        if (reassignTo != null) {
+            Category target = categoryRepository.findById(reassignTo)
+                    .filter(c -> c.getUserId().equals(userId))
+                    .orElseThrow(() -> new InvalidRequestException("La categoría destino no existe"));
+            if (target.getId().equals(categoryId) || target.getType() != category.getType()) {
+                throw new InvalidRequestException("La categoría destino debe ser otra del mismo tipo");
+            }
+        }
+
+        long rows = transactionRepository.countByCategoryId(categoryId, userId);
+        if (rows <= chunkSize) {
+            purge(DeletionTarget.CATEGORY, categoryId, userId, reassignTo);
+            return Optional.empty();
+        }
+        return Optional.of(enqueue(DeletionTarget.CATEGORY, categoryId, userId, reassignTo, rows));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DeletionJobResponse> getJob(Long id, Long userId) {
+        return jobRepository.findByIdAndUserId(id, userId).map(DeletionService::mapToResponse);
+    }
+
+    // Un tramo en una transacción corta; devuelve las filas procesadas (0 = no queda nada)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int processChunk(DeletionJob job, int limit) {
+        boolean account = job.getTarget() == DeletionTarget.ACCOUNT;
+        List<Long> ids = account
+                ? transactionRepository.findIdsByAccountId(job.getTargetId(), Limit.of(limit))
+                : transactionRepository.findIdsByCategoryId(job.getTargetId(), job.getUserId(), Limit.of(limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        if (job.getReassignTo() != null) {
+            requireReassignTarget(job.getReassignTo());
+            transactionRepository.reassignCategory(ids, job.getReassignTo());
+        } else {
+            // La cuenta desaparece entera: ni su saldo ni su histórico se corrigen
+            if (!account) {
+                revert(transactionRepository.sumDailyFlow(ids));
+            }
+            transactionRepository.deleteByIds(ids);
+        }
+        dataVersionService.bump(job.getUserId());
+        return ids.size();
+    }
+
+    // Último paso: lo que quede (movimientos creados durante el trabajo) y la propia entidad
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int purge(DeletionTarget target, Long targetId, Long userId, Long reassignTo) {
+        int rows;
+        if (target == DeletionTarget.ACCOUNT) {
+            // El bloqueo de la cuenta cierra el paso a nuevos movimientos (adjustBalance espera)
+            if (accountRepository.lockById(targetId).isEmpty()) {
+                return 0;
+            }
+            rows = transactionRepository.deleteByAccountId(targetId);
+            dailyBalanceRepository.deleteByAccountId(targetId);
+            accountRepository.deleteById(targetId);
+        } else {
+            Optional<Category> category = categoryRepository.findById(targetId);
+            if (category.isEmpty()) {
+                return 0;
+            }
+            if (reassignTo != null) {
+                requireReassignTarget(reassignTo);
+                rows = transactionRepository.reassignCategory(targetId, reassignTo, userId);
+            } else {
+                revert(transactionRepository.sumDailyFlowForCategory(targetId, userId));
+                rows = transactionRepository.deleteByCategoryId(targetId, userId);
+            }
+            categoryRepository.delete(category.get());
+        }
+        dataVersionService.bump(userId);
+        return rows;
+    }
+
+    private DeletionJobResponse enqueue(DeletionTarget target, Long targetId, Long userId, Long reassignTo, long rows) {
+        // Repetir el DELETE mientras se procesa devuelve el mismo trabajo
+        DeletionJob job = jobRepository.findFirstByTargetAndTargetIdAndStatusIn(target, targetId, ACTIVE)
+                .orElseGet(() -> jobRepository.save(DeletionJob.builder()
+                        .userId(userId)
+                        .target(target)
+                        .targetId(targetId)
+                        .reassignTo(reassignTo)
+                        .status(DeletionStatus.PENDING)
+                        .totalRows(rows)
+                        .processedRows(0)
+                        .createdAt(Instant.now())
+                        .build()));
+        return mapToResponse(job);
+    }
+
+    // Saldo e histórico diario se corrigen en la misma transacción que el borrado.
+    // Orden por id: dos tramos concurrentes bloquean las cuentas en el mismo orden
+    private void revert(List<AccountDayFlow> flows) {
+        Map<Long, SortedMap<LocalDate, BigDecimal>> byAccount = new TreeMap<>();
+        for (AccountDayFlow f : flows) {
+            byAccount.computeIfAbsent(f.getAccountId(), id -> new TreeMap<>()).put(f.getDay(), f.getFlow());
+        }
+        byAccount.forEach((accountId, days) -> {
+            BigDecimal total = days.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Bloqueo aunque el neto sea cero: record() cuenta con él
+            accountRepository.lockById(accountId);
+            if (total.signum() != 0) {
+                accountRepository.adjustBalance(accountId, total.negate());
+            }
+            days.forEach((day, flow) -> balanceHistoryService.record(accountId, day, flow.negate()));
+        });
+    }
+
+    private void requireReassignTarget(Long categoryId) {
+        if (categoryRepository.findById(categoryId).isEmpty()) {
+            throw new InvalidRequestException("La categoría destino ya no existe");
+        }
+    }
+
+    static DeletionJobResponse mapToResponse(DeletionJob job) {
+        return DeletionJobResponse.builder()
+                .id(job.getId())
+                .target(job.getTarget())
+                .targetId(job.getTargetId())
+                .status(job.getStatus())
+                .totalRows(job.getTotalRows())
+                .processedRows(job.getProcessedRows())
+                .error(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
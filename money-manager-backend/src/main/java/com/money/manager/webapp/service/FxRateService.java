@@ -0,0 +1,187 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.model.FxRate;
+import com.money.manager.webapp.repository.FxRateRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Tipos de cambio. La tabla fx_rates es la fuente; las conversiones leen una foto inmutable en
+// memoria que se sustituye entera al recargar, así que nunca esperan a un bloqueo
+@Service
+public class FxRateService {
+
+    public static final String PIVOT = "EUR";
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+
+    private final Logger logger = LoggerFactory.getLogger(FxRateService.class);
+
+    private final FxRateRepository fxRateRepository;
+    private final ResourceLoader resourceLoader;
+    private final TransactionTemplate tx;
+    private final String ratesFile;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(PIVOT, BigDecimal.ONE), Instant.EPOCH);
+    private long importedFileVersion = -1;
+
+    public FxRateService(FxRateRepository fxRateRepository,
+                         ResourceLoader resourceLoader,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${fx.ratesFile:}") String ratesFile) {
+        this.fxRateRepository = fxRateRepository;
+        this.resourceLoader = resourceLoader;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.ratesFile = ratesFile;
+    }
+
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    // Mayúsculas y comprobada contra los tipos cargados
+    public String requireSupported(String currency) {
+        String code = currency == null ? "" : currency.trim().toUpperCase();
+        if (!snapshot.supports(code)) {
+            throw new InvalidRequestException("Divisa no soportada: " + currency);
+        }
+        return code;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    // El fichero se vuelve a importar solo si ha cambiado; la tabla se relee siempre por si
+    // otro nodo importó tipos nuevos
+    @Scheduled(fixedDelayString = "${fx.reloadIntervalMs:3600000}", initialDelayString = "${fx.reloadIntervalMs:3600000}")
+    public synchronized void reload() {
+        if (!ratesFile.isBlank()) {
+            Resource resource = resourceLoader.getResource(ratesFile);
+            long version = lastModified(resource);
+            if (version != importedFileVersion) {
+                try {
+                    importRates(parse(resource));
+                    importedFileVersion = version;
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("No se pudieron importar los tipos de cambio de {}: {}", ratesFile, e.getMessage());
+                }
+            }
+        }
+        refresh();
+    }
+
+    public void importRates(Map<String, BigDecimal> rates) {
+        Instant now = Instant.now();
+        tx.executeWithoutResult(status -> fxRateRepository.saveAll(rates.entrySet().stream()
+                .map(e -> new FxRate(e.getKey(), e.getValue(), now))
+                .toList()));
+    }
+
+    public void refresh() {
+        List<FxRate> rows = fxRateRepository.findAll();
+        Map<String, BigDecimal> rates = new HashMap<>();
+        Instant asOf = Instant.EPOCH;
+        for (FxRate row : rows) {
+            rates.put(row.getCurrency(), row.getRate());
+            if (row.getUpdatedAt().isAfter(asOf)) {
+                asOf = row.getUpdatedAt();
+            }
+        }
+        rates.put(PIVOT, BigDecimal.ONE);
+        snapshot = new Snapshot(Map.copyOf(rates), asOf);
+    }
+
+    private Map<String, BigDecimal> parse(Resource resource) throws IOException {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                BigDecimal rate = parts.length == 2 ? parseRate(parts[1].trim()) : null;
+                String currency = parts[0].trim().toUpperCase();
+                if (rate == null || rate.signum() <= 0 || !CURRENCY.matcher(currency).matches()) {
+                    logger.warn("Línea {} de {} ignorada: {}", number, ratesFile, line);
+                    continue;
+                }
+                rates.put(currency, rate);
+            }
+        }
+        return rates;
+    }
+
+    private static BigDecimal parseRate(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Dentro de un jar no hay fecha de modificación: se importa una sola vez
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public static final class Snapshot {
+        private final Map<String, BigDecimal> rates;
+        private final Instant asOf;
+
+        private Snapshot(Map<String, BigDecimal> rates, Instant asOf) {
+            this.rates = rates;
+            this.asOf = asOf;
+        }
+
+        public boolean supports(String currency) {
+            return currency != null && rates.containsKey(currency);
+        }
+
+        public Instant getAsOf() {
+            return asOf;
+        }
+
+        // Vacío si falta el tipo de alguna de las dos divisas
+        public Optional<BigDecimal> convert(BigDecimal amount, String from, String to) {
+            BigDecimal fromRate = rates.get(from);
+            BigDecimal toRate = rates.get(to);
+            if (fromRate == null || toRate == null) {
+                return Optional.empty();
+            }
+            if (from.equals(to)) {
+                return Optional.of(amount);
+            }
+            return Optional.of(amount.multiply(toRate).divide(fromRate, MathContext.DECIMAL64));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.model.MailOutbox;
+import com.money.manager.webapp.model.MailStatus;
+import com.money.manager.webapp.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class MailDispatcher {
+
+    private static final String FROM = "noreply@moneymanager.com";
+
+    private final MailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate tx;
+    private final ExecutorService senders;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long claimTimeoutMs;
+    private final Duration retention;
+
+    public MailDispatcher(MailOutboxRepository outboxRepository,
+                          JavaMailSender mailSender,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${mail.outbox.batchSize:20}") int batchSize,
+                          @Value("${mail.outbox.concurrency:4}") int concurrency,
+                          @Value("${mail.outbox.maxAttempts:6}") int maxAttempts,
+                          @Value("${mail.outbox.initialBackoffMs:30000}") long initialBackoffMs,
+                          @Value("${mail.outbox.maxBackoffMs:3600000}") long maxBackoffMs,
+                          @Value("${mail.outbox.claimTimeoutMs:300000}") long claimTimeoutMs,
+                          @Value("${mail.outbox.retentionDays:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.senders = Executors.newFixedThreadPool(concurrency);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.pollIntervalMs:5000}")
+    public void dispatch() {
+        List<MailOutbox> batch;
+        // Lotes hasta vaciar la cola de pendientes vencidos; cada lote espera a sus envíos. La espera
+        // ocupa un hilo del scheduler, que por eso tiene pool propio (spring.task.scheduling.pool.size)
+        do {
+            batch = claimBatch();
+            CompletableFuture<?>[] sends = batch.stream()
+                    .map(mail -> CompletableFuture.runAsync(() -> deliver(mail), senders))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(sends).join();
+        } while (batch.size() == batchSize);
+    }
+
+    // Los enviados y perdidos solo sirven para diagnóstico: se borran pasados retentionDays
+    @Scheduled(fixedDelayString = "${mail.outbox.purgeIntervalMs:3600000}")
+    public void purgeFinished() {
+        tx.executeWithoutResult(status -> outboxRepository.deleteFinishedBefore(Instant.now().minus(retention)));
+    }
+
+    private List<MailOutbox> claimBatch() {
+        return tx.execute(status -> {
+            Instant now = Instant.now();
+            outboxRepository.releaseStaleClaims(now.minusMillis(claimTimeoutMs));
+
+            List<MailOutbox> due = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                    MailStatus.PENDING, now, Limit.of(batchSize));
+            due.forEach(mail -> {
+                mail.setStatus(MailStatus.SENDING);
+                mail.setClaimedAt(now);
+            });
+            return outboxRepository.saveAll(due);
+        });
+    }
+
+    private void deliver(MailOutbox mail) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setClaimedAt(null);
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(FROM);
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            mailSender.send(message);
+
+            mail.setStatus(MailStatus.SENT);
+            mail.setSentAt(Instant.now());
+            mail.setLastError(null);
+            mail.setBody(null);
+        } catch (Exception e) {
+            mail.setLastError(truncate(e.getMessage()));
+            if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(MailStatus.DEAD);
+                mail.setBody(null);
+            } else {
+                mail.setStatus(MailStatus.PENDING);
+                mail.setNextAttemptAt(Instant.now().plus(backoff(mail.getAttempts())));
+            }
+        }
+        outboxRepository.save(mail);
+        // sent, retry (vuelve a PENDING) o dead
+        meterRegistry.counter("moneymanager.mail.deliveries",
+                "outcome", mail.getStatus() == MailStatus.PENDING ? "retry" : mail.getStatus().name().toLowerCase(Locale.ROOT))
+                .increment();
+    }
+
+    // 1er reintento tras initialBackoffMs, luego se duplica hasta maxBackoffMs
+    Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        long delay = initialBackoffMs << shift;
+        return Duration.ofMillis(delay <= 0 || delay > maxBackoffMs ? maxBackoffMs : delay);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return "Error desconocido";
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdown();
+    }
+}
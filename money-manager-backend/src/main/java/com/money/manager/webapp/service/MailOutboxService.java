@@ -0,0 +1,35 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.model.MailOutbox;
+import com.money.manager.webapp.model.MailStatus;
+import com.money.manager.webapp.repository.MailOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+public class MailOutboxService {
+
+    private final MailOutboxRepository outboxRepository;
+
+    public MailOutboxService(MailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    // Se guarda en la misma transacción que el cambio de negocio; el envío real lo hace MailDispatcher
+    @Transactional(propagation = Propagation.MANDATORY)
+    public MailOutbox enqueue(String recipient, String subject, String body) {
+        Instant now = Instant.now();
+        return outboxRepository.save(MailOutbox.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(MailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+}
@@ -1,36 +1,37 @@
 package com.money.manager.webapp.service;
 
-import com.money.manager.webapp.model.PasswordRecovery;
-import com.money.manager.webapp.repository.PasswordRecoveryRepository;
 import com.money.manager.webapp.repository.UserRepository;
 import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.security.RecoveryCodeStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
-import java.time.LocalDateTime;
-import java.util.Random;
+import java.time.Instant;
 
 @Service
 public class PasswordRecoveryService {
 
-    private final PasswordRecoveryRepository recoveryRepo;
+    private final RecoveryCodeStore codeStore;
     private final UserRepository userRepo;
     private final PasswordEncoder passwordEncoder;
+    private final MailOutboxService mailOutboxService;
+    private final MeterRegistry meterRegistry;
+    private final RefreshTokenService refreshTokenService;
 
-    @Autowired
-    private JavaMailSender mailSender;
-
-    public PasswordRecoveryService(PasswordRecoveryRepository recoveryRepo,
+    public PasswordRecoveryService(RecoveryCodeStore codeStore,
                                    UserRepository userRepo,
-                                   PasswordEncoder passwordEncoder) {
-        this.recoveryRepo = recoveryRepo;
+                                   PasswordEncoder passwordEncoder,
+                                   MailOutboxService mailOutboxService,
+                                   MeterRegistry meterRegistry,
+                                   RefreshTokenService refreshTokenService) {
+        this.codeStore = codeStore;
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
+        this.mailOutboxService = mailOutboxService;
+        this.meterRegistry = meterRegistry;
+        this.refreshTokenService = refreshTokenService;
     }
 
 
@@ -40,68 +41,48 @@ public class PasswordRecoveryService {
             throw new RuntimeException("Email no registrado");
         }
 
-        // Borro códigos anteriores
-        recoveryRepo.deleteByEmail(email);
-
-        String code = String.valueOf(new Random().nextInt(900000) + 100000); // 6 dígitos
-        PasswordRecovery recovery = new PasswordRecovery(
-                email,
-                code,
-                LocalDateTime.now().plusMinutes(10),
-                3
-        );
+        // Sustituye al código anterior, si lo había
+        RecoveryCodeStore.Code code = codeStore.issue(email);
 
-        recoveryRepo.save(recovery);
-
-        sendEmail(email, code);
+        sendEmail(email, code.getValue());
     }
 
     private void sendEmail(String to, String code) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom("noreply@moneymanager.com"); // O tu correo real
-            message.setTo(to);
-            message.setSubject("Recuperación de Contraseña - Money Manager");
-            message.setText("Hola,\n\n" +
-                    "Has solicitado restablecer tu contraseña.\n" +
-                    "Tu código de verificación es: " + code + "\n\n" +
-                    "Este código expira en 10 minutos.\n" +
-                    "Si no has sido tú, ignora este mensaje.");
-
-            mailSender.send(message);
-            System.out.println("Correo enviado a " + to);
-        } catch (Exception e) {
-            System.err.println("Error enviando correo: " + e.getMessage());
-            throw new RuntimeException("Error al enviar el correo de recuperación");
-        }
+        // Solo se encola: el correo sale desde MailDispatcher con reintentos
+        mailOutboxService.enqueue(to,
+                "Recuperación de Contraseña - Money Manager",
+                "Hola,\n\n" +
+                        "Has solicitado restablecer tu contraseña.\n" +
+                        "Tu código de verificación es: " + code + "\n\n" +
+                        "Este código expira en " + codeStore.getTtl().toMinutes() + " minutos.\n" +
+                        "Si no has sido tú, ignora este mensaje.");
+        meterRegistry.counter("moneymanager.recovery.mails").increment();
     }
 
     // Paso 2: Verificar código
     public void verifyCode(String email, String code) {
-        PasswordRecovery recovery = recoveryRepo.findByEmail(email)
+        RecoveryCodeStore.Code recovery = codeStore.find(email)
                 .orElseThrow(() -> new RuntimeException("No hay solicitud de recuperación activa"));
 
-        if (recovery.getExpiration().isBefore(LocalDateTime.now())) {
+        if (recovery.isExpired(Instant.now())) {
             throw new RuntimeException("El código ha expirado");
         }
 
-        if (recovery.getAttemptsRemaining() <= 0) {
+        if (!codeStore.tryAttempt(recovery)) {
             throw new RuntimeException("Se han agotado los intentos, solicita un nuevo código");
         }
 
-        if (!recovery.getCode().equals(code)) {
-            recovery.setAttemptsRemaining(recovery.getAttemptsRemaining() - 1);
-            recoveryRepo.save(recovery);
+        if (!recovery.matches(code)) {
             throw new RuntimeException("Código incorrecto. Intentos restantes: " + recovery.getAttemptsRemaining());
         }
 
-        recovery.setVerified(true);
-        recoveryRepo.save(recovery);
+        codeStore.markVerified(recovery);
     }
 
     @Transactional
     public void resetPassword(String email, String newPassword) {
-        PasswordRecovery recovery = recoveryRepo.findByEmail(email)
+        RecoveryCodeStore.Code recovery = codeStore.find(email)
+                .filter(c -> !c.isExpired(Instant.now()))
                 .orElseThrow(() -> new RuntimeException("No hay proceso de recuperación activo"));
 
         if (!recovery.isVerified()) {
@@ -113,7 +94,9 @@ public class PasswordRecoveryService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepo.save(user);
+        // Con la contraseña nueva se cierran las sesiones de todos los dispositivos
+        refreshTokenService.revokeAll(user.getId());
 
-        recoveryRepo.deleteByEmail(email);
+        codeStore.remove(email);
     }
 }
@@ -1,61 +1,139 @@
 package com.money.manager.webapp.service;
 
-import com.money.manager.webapp.model.RefreshToken;
-import com.money.manager.webapp.model.User;
-import com.money.manager.webapp.repository.RefreshTokenRepository;
-import com.money.manager.webapp.repository.UserRepository;
+import com.money.manager.webapp.dto.IssuedSession;
+import com.money.manager.webapp.dto.SessionLookup;
+import com.money.manager.webapp.model.UserSession;
+import com.money.manager.webapp.repository.UserSessionRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
 
+// Sesiones de refresco por dispositivo (user_sessions). Cada renovación rota el token
 @Service
 public class RefreshTokenService {
-    @Value("${jwt.refreshExpirationMs}")
-    private Long refreshTokenDurationMs;
 
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final UserRepository userRepository;
+    private static final int TOKEN_BYTES = 32;
+    private static final int MAX_DEVICE_LENGTH = 255;
 
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
-        this.refreshTokenRepository = refreshTokenRepository;
-        this.userRepository = userRepository;
+    private final UserSessionRepository sessionRepository;
+    private final TransactionTemplate tx;
+    private final SecureRandom random = new SecureRandom();
+
+    private final long refreshTokenDurationMs;
+    private final int maxDevices;
+    private final int sweepChunkSize;
+
+    public RefreshTokenService(UserSessionRepository sessionRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${jwt.refreshExpirationMs}") long refreshTokenDurationMs,
+                               @Value("${security.sessions.maxDevices:10}") int maxDevices,
+                               @Value("${security.sessions.sweepChunkSize:1000}") int sweepChunkSize) {
+        this.sessionRepository = sessionRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.refreshTokenDurationMs = refreshTokenDurationMs;
+        this.maxDevices = maxDevices;
+        this.sweepChunkSize = sweepChunkSize;
     }
 
+    // Nueva sesión en el login; si el usuario ya tiene maxDevices, se cierran las menos usadas
     @Transactional
-    public RefreshToken createRefreshToken(Long userId) {
-        User user = userRepository.findById(userId).get();
+    public String createSession(Long userId, String device) {
+        List<Long> existing = sessionRepository.findIdsByUserIdNewestFirst(userId);
+        if (existing.size() >= maxDevices) {
+            sessionRepository.deleteByIds(existing.subList(maxDevices - 1, existing.size()));
+        }
 
-        RefreshToken refreshToken = refreshTokenRepository.findByUser(user)
-                .orElse(new RefreshToken());
+        String token = newToken();
+        Instant now = Instant.now();
+        sessionRepository.save(UserSession.builder()
+                .userId(userId)
+                .tokenHash(hash(token))
+                .device(device != null && device.length() > MAX_DEVICE_LENGTH ? device.substring(0, MAX_DEVICE_LENGTH) : device)
+                .createdAt(now)
+                .lastUsedAt(now)
+                .expiresAt(now.plusMillis(refreshTokenDurationMs))
+                .build());
+        return token;
+    }
 
-        if (refreshToken.getUser() == null) {
-            refreshToken.setUser(user);
+    // Una lectura por hash y una escritura. Vacío si el token no existe, caducó o ya se rotó
+    @Transactional
+    public Optional<IssuedSession> rotate(String token) {
+        String oldHash = hash(token);
+        Optional<SessionLookup> found = sessionRepository.findLookupByTokenHash(oldHash);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        SessionLookup session = found.get();
+        Instant now = Instant.now();
+        if (session.getExpiresAt().isBefore(now)) {
+            sessionRepository.deleteByTokenHash(oldHash);
+            return Optional.empty();
         }
 
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
+        String newToken = newToken();
+        // Dos renovaciones simultáneas con el mismo token: solo una gana
+        if (sessionRepository.rotate(session.getSessionId(), oldHash, hash(newToken), now,
+                now.plusMillis(refreshTokenDurationMs)) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new IssuedSession(session.getUserId(), session.getEmail(), newToken));
+    }
 
-        return refreshTokenRepository.save(refreshToken);
+    // Logout: solo la sesión de este dispositivo
+    @Transactional
+    public void revoke(String token) {
+        sessionRepository.deleteByTokenHash(hash(token));
     }
 
+    // Cambio de contraseña: se cierran todas
+    @Transactional
+    public int revokeAll(Long userId) {
+        return sessionRepository.deleteByUserId(userId);
+    }
 
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new RuntimeException("Refresh token expirado. Por favor inicie sesión de nuevo.");
-        }
-        return token;
+    // Por tramos, cada uno en su transacción, para no bloquear la tabla con un DELETE enorme
+    @Scheduled(fixedDelayString = "${security.sessions.sweepIntervalMs:3600000}")
+    public int sweepExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = tx.execute(status -> {
+                List<Long> ids = sessionRepository.findExpiredIds(Instant.now(), Limit.of(sweepChunkSize));
+                return ids.isEmpty() ? 0 : sessionRepository.deleteByIds(ids);
+            });
+            total += deleted;
+        } while (deleted == sweepChunkSize);
+        return total;
     }
 
-    @Transactional
-    public int deleteByUserId(Long userId) {
-        return refreshTokenRepository.deleteByUser(userRepository.findById(userId).get());
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
-    public java.util.Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    // 256 bits aleatorios: basta un SHA-256 sin sal para no guardar el token en claro
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.AccountTotalResponse;
+import com.money.manager.webapp.dto.CategoryTotalResponse;
+import com.money.manager.webapp.dto.MonthlyTotalResponse;
+import com.money.manager.webapp.dto.ReportSummaryResponse;
+import com.money.manager.webapp.dto.TypeTotalResponse;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.repository.ReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    // Límites usados cuando el cliente no acota el rango, para no tener parámetros nulos en las consultas
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final ReportRepository reportRepository;
+
+    @Transactional(readOnly = true)
+    public ReportSummaryResponse getSummary(Long userId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        long incomeCount = 0;
+        long expenseCount = 0;
+
+        for (TypeTotalResponse row : reportRepository.sumByType(userId, lower(from), upper(to))) {
+            if (row.getType() == TransactionType.INCOME) {
+                income = row.getTotal();
+                incomeCount = row.getCount();
+            } else {
+                expense = row.getTotal();
+                expenseCount = row.getCount();
+            }
+        }
+
+        return ReportSummaryResponse.builder()
+                .totalIncome(income)
+                .totalExpense(expense)
+                .net(income.subtract(expense))
+                .incomeCount(incomeCount)
+                .expenseCount(expenseCount)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlyTotalResponse> getMonthlyTotals(Long userId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        return reportRepository.sumByMonth(userId, lower(from), upper(to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryTotalResponse> getCategoryTotals(Long userId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        return reportRepository.sumByCategory(userId, lower(from), upper(to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountTotalResponse> getAccountTotals(Long userId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        return reportRepository.sumByAccount(userId, lower(from), upper(to));
+    }
+
+    private LocalDateTime lower(LocalDateTime from) {
+        return from != null ? from : MIN_DATE;
+    }
+
+    private LocalDateTime upper(LocalDateTime to) {
+        return to != null ? to : MAX_DATE;
+    }
+
+    private void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("El rango de fechas no es válido");
+        }
+    }
+}
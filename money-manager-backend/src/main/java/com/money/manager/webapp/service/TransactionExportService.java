@@ -0,0 +1,168 @@
+package com.money.manager.webapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.money.manager.webapp.dto.TransactionFilter;
+import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.exception.TooManyRequestsException;
+import com.money.manager.webapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class TransactionExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter jsonWriter;
+    // Cada exportación retiene una conexión del pool mientras el cliente lee: se limitan para no
+    // dejar sin conexiones al resto de la API
+    private final Semaphore slots;
+
+    @Value("${transactions.export.fetchSize:1000}")
+    private int fetchSize;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${transactions.export.maxConcurrent:3}") int maxConcurrent) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonWriter = objectMapper.writerFor(TransactionResponse.class);
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    public String resolveFormat(String format) {
+        String resolved = format == null ? "csv" : format.toLowerCase(Locale.ROOT);
+        if (!resolved.equals("csv") && !resolved.equals("ndjson")) {
+            throw new InvalidRequestException("Formato de exportación no soportado: " + format);
+        }
+        return resolved;
+    }
+
+    // El hueco se reserva antes de responder (así aún se puede contestar 429) y se devuelve al terminar
+    // el cuerpo; si el cuerpo no llega a ejecutarse, el controlador llama a release() al completarse
+    // la petición asíncrona
+    public ExportBody export(Long userId, TransactionFilter filter, String format, boolean gzip) {
+        String resolved = resolveFormat(format);
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Hay demasiadas exportaciones en curso, inténtalo en unos segundos", 10);
+        }
+        return new ExportBody(out -> write(out, userId, filter, resolved, gzip), slots);
+    }
+
+    int availableSlots() {
+        return slots.availablePermits();
+    }
+
+    // El cuerpo se escribe fila a fila desde el cursor de la base de datos: la memoria no depende del historial
+    private void write(OutputStream out, Long userId, TransactionFilter filter, String resolved, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        Writer writer = new OutputStreamWriter(new BufferedOutputStream(target, BUFFER_SIZE), StandardCharsets.UTF_8);
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionResponse> rows = transactionRepository.streamForExport(userId, filter, fetchSize)) {
+                if (resolved.equals("csv")) {
+                    writer.write("id,fecha,descripcion,importe,tipo,cuenta,categoria\n");
+                    rows.forEach(row -> writeCsv(writer, row));
+                } else {
+                    rows.forEach(row -> writeJson(writer, row));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream gz) {
+            gz.finish();
+        }
+    }
+
+    private void writeCsv(Writer writer, TransactionResponse row) {
+        try {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getDate()));
+            writer.write(',');
+            writer.write(csv(row.getDescription()));
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getType().name());
+            writer.write(',');
+            writer.write(csv(row.getAccountName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getCategoryId()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJson(Writer writer, TransactionResponse row) {
+        try {
+            writer.write(jsonWriter.writeValueAsString(row));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    public static final class ExportBody implements StreamingResponseBody {
+        private final StreamingResponseBody body;
+        private final Semaphore slots;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ExportBody(StreamingResponseBody body, Semaphore slots) {
+            this.body = body;
+            this.slots = slots;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try {
+                body.writeTo(out);
+            } finally {
+                release();
+            }
+        }
+
+        // Idempotente: lo llaman el propio cuerpo y el fin de la petición asíncrona
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+}
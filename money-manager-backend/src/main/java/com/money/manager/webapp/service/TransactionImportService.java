@@ -0,0 +1,218 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.ImportResult;
+import com.money.manager.webapp.dto.ImportRowError;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.importer.CsvStatementReader;
+import com.money.manager.webapp.importer.ImportedRow;
+import com.money.manager.webapp.importer.OfxStatementReader;
+import com.money.manager.webapp.importer.StatementReader;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.CategoryRepository;
+import com.money.manager.webapp.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_SQL =
+            "insert into transactions (id, description, amount, type, transaction_date, account_id, category_id, user_id, external_id) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Mismo bloque que el @SequenceGenerator de Transaction: cada nextval reserva (valor - 49 .. valor]
+    private static final String NEXT_ID_BLOCK_SQL = "select nextval('transactions_seq')";
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final BalanceHistoryService balanceHistoryService;
+    private final DataVersionService dataVersionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${transactions.import.batchSize:500}")
+    private int batchSize;
+
+    @Transactional
+    public ImportResult importStatement(MultipartFile file, String format, Long accountId, Long categoryId, Long userId) {
+        Account account = accountRepository.findById(accountId)
+                .filter(a -> a.getUserId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Cuenta no encontrada o no pertenece al usuario"));
+
+        // Propiedad de las categorías: una sola consulta para toda la importación
+        Set<Long> userCategories = categoryRepository.findByUserId(userId).stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        if (categoryId != null && !userCategories.contains(categoryId)) {
+            throw new RuntimeException("Categoría no encontrada");
+        }
+
+        Progress progress = new Progress();
+        // Por externalId: los repetidos dentro del lote se descartan aquí y los de lotes anteriores,
+        // ya insertados en esta misma transacción, los encuentra findExistingExternalIds
+        Map<String, ImportedRow> batch = new LinkedHashMap<>();
+        String resolvedFormat;
+
+        try (StatementReader reader = openReader(file, format, categoryId)) {
+            resolvedFormat = reader instanceof OfxStatementReader ? "ofx" : "csv";
+            ImportedRow row;
+            while ((row = reader.next()) != null) {
+                if (row.getError() != null) {
+                    progress.fail(row.getLine(), row.getError());
+                } else if (row.getCategoryId() == null || !userCategories.contains(row.getCategoryId())) {
+                    progress.fail(row.getLine(), "Categoría no encontrada");
+                } else if (batch.putIfAbsent(row.getExternalId(), row) != null) {
+                    progress.duplicates++;
+                } else if (batch.size() >= batchSize) {
+                    flush(batch, account, userId, progress);
+                }
+            }
+            flush(batch, account, userId, progress);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        } catch (IOException e) {
+            throw new RuntimeException("Error leyendo el fichero de importación");
+        }
+
+        // Bloqueo de la cuenta aunque el saldo neto sea cero: record() cuenta con él para no cruzarse
+        // con altas y bajas simultáneas en el histórico diario
+        accountRepository.lockById(account.getId());
+        // Un único ajuste de saldo con la suma de todo lo importado
+        if (progress.balanceDelta.signum() != 0) {
+            accountRepository.adjustBalance(account.getId(), progress.balanceDelta);
+        }
+        // Histórico diario: un ajuste por día afectado, en orden para arrastrar bien el acumulado
+        progress.dailyDeltas.forEach((day, delta) -> balanceHistoryService.record(account.getId(), day, delta));
+        if (progress.imported > 0) {
+            dataVersionService.bump(userId);
+        }
+
+        meterRegistry.counter("moneymanager.imports", "format", resolvedFormat).increment();
+        meterRegistry.counter("moneymanager.transactions.created", "source", "import").increment(progress.imported);
+        meterRegistry.counter("moneymanager.imports.rows", "result", "duplicate").increment(progress.duplicates);
+        meterRegistry.counter("moneymanager.imports.rows", "result", "failed").increment(progress.failed);
+
+        return ImportResult.builder()
+                .imported(progress.imported)
+                .duplicates(progress.duplicates)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private void flush(Map<String, ImportedRow> batch, Account account, Long userId, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = transactionRepository.findExistingExternalIds(account.getId(), batch.keySet());
+
+        List<Object[]> params = new ArrayList<>(batch.size());
+        for (ImportedRow row : batch.values()) {
+            if (existing.contains(row.getExternalId())) {
+                progress.duplicates++;
+                continue;
+            }
+            params.add(new Object[]{
+                    progress.nextId(jdbcTemplate),
+                    row.getDescription(),
+                    row.getAmount(),
+                    row.getType().name(),
+                    Timestamp.valueOf(row.getDate()),
+                    account.getId(),
+                    row.getCategoryId(),
+                    userId,
+                    row.getExternalId()
+            });
+            BigDecimal delta = TransactionService.balanceAdjustment(row.getAmount(), row.getType(), false);
+            progress.balanceDelta = progress.balanceDelta.add(delta);
+            progress.dailyDeltas.merge(row.getDate().toLocalDate(), delta, BigDecimal::add);
+        }
+
+        if (!params.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, params);
+            progress.imported += params.size();
+        }
+        batch.clear();
+    }
+
+    private StatementReader openReader(MultipartFile file, String format, Long categoryId) throws IOException {
+        String resolved = format;
+        if (resolved == null || resolved.isBlank()) {
+            String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+            resolved = name.endsWith(".ofx") || name.endsWith(".qfx") ? "ofx" : "csv";
+        }
+
+        InputStreamReader in = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
+        return switch (resolved.toLowerCase(Locale.ROOT)) {
+            case "csv" -> new CsvStatementReader(in, categoryId);
+            case "ofx", "qfx" -> {
+                if (categoryId == null) {
+                    in.close();
+                    throw new InvalidRequestException("La importación OFX necesita una categoría");
+                }
+                yield new OfxStatementReader(in, categoryId);
+            }
+            default -> {
+                in.close();
+                throw new InvalidRequestException("Formato de importación no soportado: " + format);
+            }
+        };
+    }
+
+    private static class Progress {
+        private long imported;
+        private long duplicates;
+        private long failed;
+        private BigDecimal balanceDelta = BigDecimal.ZERO;
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private final SortedMap<LocalDate, BigDecimal> dailyDeltas = new TreeMap<>();
+        private long nextId;
+        private long maxId = -1;
+
+        // Ids del bloque pooled de la secuencia: un nextval cada ID_ALLOCATION_SIZE filas
+        private long nextId(JdbcTemplate jdbcTemplate) {
+            if (nextId > maxId) {
+                Long hi = jdbcTemplate.queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+                maxId = hi;
+                nextId = Math.max(1, hi - ID_ALLOCATION_SIZE + 1);
+            }
+            return nextId++;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(line, message));
+            }
+        }
+    }
+}
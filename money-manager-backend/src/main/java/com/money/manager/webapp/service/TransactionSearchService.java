@@ -0,0 +1,96 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.TransactionPage;
+import com.money.manager.webapp.dto.TransactionSearchHit;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionSearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SUGGESTIONS = 8;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_TEXT_LENGTH = 100;
+
+    private final TransactionRepository transactionRepository;
+
+    @Transactional(readOnly = true)
+    public TransactionPage search(Long userId, String text, String cursor, Integer size) {
+        String query = text == null ? "" : text.strip();
+        if (query.length() < 2 || query.length() > MAX_TEXT_LENGTH) {
+            throw new InvalidRequestException("La búsqueda debe tener entre 2 y " + MAX_TEXT_LENGTH + " caracteres");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        Float afterRank = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterRank = Float.parseFloat(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        // Uno de más para saber si hay página siguiente sin COUNT
+        List<TransactionSearchHit> hits = transactionRepository.searchDescriptions(userId, query, afterRank, afterId, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionSearchHit last = hits.get(hits.size() - 1);
+            nextCursor = encodeCursor(last.getRank(), last.getTransaction().getId());
+        }
+
+        return TransactionPage.builder()
+                .items(hits.stream().map(TransactionSearchHit::getTransaction).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> suggest(Long userId, String prefix, Integer limit) {
+        String start = prefix == null ? "" : prefix.stripLeading();
+        if (start.isEmpty()) {
+            return List.of();
+        }
+        if (start.length() > MAX_TEXT_LENGTH) {
+            throw new InvalidRequestException("El prefijo no puede superar " + MAX_TEXT_LENGTH + " caracteres");
+        }
+        int max = limit == null ? DEFAULT_SUGGESTIONS : Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        return transactionRepository.suggestDescriptions(userId, start, max);
+    }
+
+    // Float.toString conserva el valor exacto del real de PostgreSQL: el keyset compara por igualdad
+    private String encodeCursor(float rank, Long id) {
+        String raw = Float.toString(rank) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new InvalidRequestException("Cursor de paginación no válido");
+            }
+            Float.parseFloat(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Cursor de paginación no válido");
+        }
+    }
+}
@@ -1,42 +1,82 @@
 package com.money.manager.webapp.service;
 
+import com.money.manager.webapp.dto.TransactionFilter;
+import com.money.manager.webapp.dto.TransactionPage;
 import com.money.manager.webapp.dto.TransactionRequest;
 import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.exception.InvalidRequestException;
 import com.money.manager.webapp.model.Account;
 import com.money.manager.webapp.model.Transaction;
 import com.money.manager.webapp.model.TransactionType;
 import com.money.manager.webapp.repository.AccountRepository;
 import com.money.manager.webapp.repository.CategoryRepository;
 import com.money.manager.webapp.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final CategoryRepository categoryRepository;
+    private final BalanceHistoryService balanceHistoryService;
+    private final DataVersionService dataVersionService;
+    private final MeterRegistry meterRegistry;
 
     @Transactional(readOnly = true)
     public List<TransactionResponse> getAllTransactions(Long userId) {
-        return transactionRepository.findByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return transactionRepository.findResponsesByUserId(userId);
     }
 
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByAccount(Long accountId, Long userId) {
-        return transactionRepository.findByAccountIdAndUserId(accountId, userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return transactionRepository.findResponsesByAccountIdAndUserId(accountId, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionPage(Long userId, TransactionFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterDate = LocalDateTime.parse(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        // Se pide un elemento de más para saber si hay página siguiente sin hacer COUNT
+        List<TransactionResponse> rows = transactionRepository.findPage(userId, filter, afterDate, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponse last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(last.getDate(), last.getId());
+        }
+
+        return TransactionPage.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional
@@ -46,10 +86,10 @@ public class TransactionService {
                 .filter(a -> a.getUserId().equals(userId))
                 .orElseThrow(() -> new RuntimeException("Cuenta no encontrada o no pertenece al usuario"));
 
-        boolean categoryExists = categoryRepository.existsById(request.getCategoryId());
-        if (!categoryExists) {
-            throw new RuntimeException("Categoría no encontrada");
-        }
+        // findById pasa por la caché de segundo nivel (existsById siempre consulta)
+        categoryRepository.findById(request.getCategoryId())
+                .filter(c -> c.getUserId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Categoría no encontrada"));
 
         Transaction transaction = Transaction.builder()
                 .description(request.getDescription())
@@ -61,10 +101,13 @@ public class TransactionService {
                 .userId(userId)
                 .build();
 
-        updateAccountBalance(account, request.getAmount(), request.getType(), false);
-        accountRepository.save(account);
-
         Transaction savedTransaction = transactionRepository.save(transaction);
+        BigDecimal delta = balanceAdjustment(request.getAmount(), request.getType(), false);
+        accountRepository.adjustBalance(account.getId(), delta);
+        balanceHistoryService.record(account.getId(), savedTransaction.getDate().toLocalDate(), delta);
+        dataVersionService.bump(userId);
+        meterRegistry.counter("moneymanager.transactions.created", "source", "api").increment();
+
         return mapToResponse(savedTransaction);
     }
 
@@ -74,13 +117,19 @@ public class TransactionService {
                 .filter(t -> t.getUserId().equals(userId))
                 .orElseThrow(() -> new RuntimeException("Transacción no encontrada"));
 
-        updateAccountBalance(transaction.getAccount(), transaction.getAmount(), transaction.getType(), true);
-        accountRepository.save(transaction.getAccount());
+        // Si otra petición ya la borró, no se revierte el saldo dos veces
+        if (transactionRepository.deleteOwned(id, userId) == 0) {
+            throw new RuntimeException("Transacción no encontrada");
+        }
 
-        transactionRepository.delete(transaction);
+        Long accountId = transaction.getAccount().getId();
+        BigDecimal delta = balanceAdjustment(transaction.getAmount(), transaction.getType(), true);
+        accountRepository.adjustBalance(accountId, delta);
+        balanceHistoryService.record(accountId, transaction.getDate().toLocalDate(), delta);
+        dataVersionService.bump(userId);
     }
 
-    private void updateAccountBalance(Account account, BigDecimal amount, TransactionType type, boolean isReversal) {
+    public static BigDecimal balanceAdjustment(BigDecimal amount, TransactionType type, boolean isReversal) {
         BigDecimal adjustment = amount;
 
         if (type == TransactionType.EXPENSE) {
@@ -91,10 +140,30 @@ public class TransactionService {
             adjustment = adjustment.negate();
         }
 
-        account.setBalance(account.getBalance().add(adjustment));
+        return adjustment;
+    }
+
+    private String encodeCursor(LocalDateTime date, Long id) {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new InvalidRequestException("Cursor de paginación no válido");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Cursor de paginación no válido");
+        }
     }
 
-    private TransactionResponse mapToResponse(Transaction t) {
+    public static TransactionResponse mapToResponse(Transaction t) {
         return TransactionResponse.builder()
                 .id(t.getId())
                 .description(t.getDescription())
@@ -13,15 +13,17 @@ import jakarta.transaction.Transactional;
 public class UserProfileService {
 
     private final UserRepository userRepository;
+    private final FxRateService fxRateService;
 
-    public UserProfileService(UserRepository userRepository) {
+    public UserProfileService(UserRepository userRepository, FxRateService fxRateService) {
         this.userRepository = userRepository;
+        this.fxRateService = fxRateService;
     }
 
     public UserProfileRequest getProfile(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-        return new UserProfileRequest(user.getFullName(), user.getEmail());
+        return new UserProfileRequest(user.getFullName(), user.getEmail(), user.getBaseCurrency());
     }
 
     @Transactional
@@ -30,7 +32,17 @@ public class UserProfileService {
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
         user.setFullName(newName);
         userRepository.save(user);
-        return new UserProfileRequest(user.getFullName(), user.getEmail());
+        return new UserProfileRequest(user.getFullName(), user.getEmail(), user.getBaseCurrency());
+    }
+
+    @Transactional
+    public UserProfileRequest updateBaseCurrency(String email, String currency) {
+        String code = fxRateService.requireSupported(currency);
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        user.setBaseCurrency(code);
+        userRepository.save(user);
+        return new UserProfileRequest(user.getFullName(), user.getEmail(), user.getBaseCurrency());
     }
 
     private User getCurrentUser() {
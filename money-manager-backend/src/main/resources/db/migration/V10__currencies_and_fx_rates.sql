@@ -0,0 +1,10 @@
+-- Divisa por cuenta y divisa base por usuario. Todo lo anterior se trata como euros
+alter table accounts add column currency varchar(3) not null default 'EUR';
+alter table users add column base_currency varchar(3) not null default 'EUR';
+
+-- Tipos de cambio: unidades de cada divisa por 1 EUR. Se cargan desde fx.ratesFile
+create table fx_rates (
+    currency   varchar(3)                  not null primary key,
+    rate       numeric(19, 8)              not null,
+    updated_at timestamp(6) with time zone not null
+);
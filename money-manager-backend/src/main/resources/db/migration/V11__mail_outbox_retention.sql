@@ -0,0 +1,7 @@
+-- Los correos enviados o perdidos ya no guardan el cuerpo (lleva el código de recuperación en claro)
+-- y se borran pasados mail.outbox.retentionDays
+alter table mail_outbox alter column body drop not null;
+
+update mail_outbox set body = null where status in ('SENT', 'DEAD');
+
+create index idx_mail_outbox_created on mail_outbox (created_at);
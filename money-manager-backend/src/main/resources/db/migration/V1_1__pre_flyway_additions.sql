@@ -0,0 +1,37 @@
+-- Lo que ddl-auto=update añadió al esquema inicial antes de pasar a Flyway: importación de
+-- extractos (external_id), revocación de tokens y cola de correo. Una base desplegada con alguna
+-- de esas versiones ya lo tiene, con los nombres de restricción que generaba Hibernate: todo es
+-- idempotente. Las secuencias de ids las crea V2.
+
+alter table transactions add column if not exists external_id varchar(64);
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint
+                   where conrelid = 'transactions'::regclass
+                     and pg_get_constraintdef(oid) = 'UNIQUE (account_id, external_id)') then
+        alter table transactions add constraint uk_transactions_account_external unique (account_id, external_id);
+    end if;
+end $$;
+
+create table if not exists revoked_tokens (
+    token_id   varchar(64)                 not null primary key,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null
+);
+
+create table if not exists mail_outbox (
+    id              bigint                      not null primary key,
+    recipient       varchar(255)                not null,
+    subject         varchar(255)                not null,
+    body            varchar(4000)               not null,
+    status          varchar(16)                 not null check (status in ('PENDING', 'SENDING', 'SENT', 'DEAD')),
+    attempts        integer                     not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    claimed_at      timestamp(6) with time zone,
+    last_error      varchar(1000),
+    created_at      timestamp(6) with time zone not null,
+    sent_at         timestamp(6) with time zone
+);
+
+create index if not exists idx_mail_outbox_due on mail_outbox (status, next_attempt_at);
@@ -0,0 +1,53 @@
+-- Esquema inicial: el que generaba ddl-auto=update antes de pasar a Flyway (ids IDENTITY, sin secuencias).
+-- Las bases de datos ya existentes se marcan como baseline (V1) y no ejecutan este script; lo que
+-- ddl-auto añadió después lo crea V1_1 en todas.
+
+create table users (
+    id        bigint generated by default as identity primary key,
+    full_name varchar(255) not null,
+    email     varchar(255) not null unique,
+    password  varchar(255) not null
+);
+
+create table accounts (
+    id      bigint generated by default as identity primary key,
+    name    varchar(255)  not null,
+    type    varchar(255)  not null,
+    balance numeric(38,2) not null,
+    user_id bigint        not null
+);
+
+create table categories (
+    id      bigint generated by default as identity primary key,
+    name    varchar(50)  not null,
+    type    varchar(255) not null check (type in ('INCOME', 'EXPENSE')),
+    color   varchar(7),
+    user_id bigint       not null
+);
+
+create table transactions (
+    id               bigint generated by default as identity primary key,
+    description      varchar(255)  not null,
+    amount           numeric(38,2) not null,
+    type             varchar(255)  not null check (type in ('INCOME', 'EXPENSE')),
+    transaction_date timestamp(6)  not null,
+    account_id       bigint        not null references accounts,
+    category_id      bigint        not null,
+    user_id          bigint        not null
+);
+
+create table refresh_token (
+    id          bigint generated by default as identity primary key,
+    token       varchar(255)                not null unique,
+    expiry_date timestamp(6) with time zone not null,
+    user_id     bigint unique references users
+);
+
+create table password_recovery (
+    id                 bigint generated by default as identity primary key,
+    email              varchar(255),
+    code               varchar(255),
+    expiration         timestamp(6),
+    attempts_remaining integer      not null,
+    verified           boolean      not null
+);
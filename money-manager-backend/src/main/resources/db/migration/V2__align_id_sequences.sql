@@ -0,0 +1,18 @@
+-- Bases de datos creadas con columnas IDENTITY: crea las secuencias que faltan y
+-- las adelanta por encima del id máximo (bloques pooled de 50, ver @SequenceGenerator).
+
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists accounts_seq start with 1 increment by 50;
+create sequence if not exists categories_seq start with 1 increment by 50;
+create sequence if not exists transactions_seq start with 1 increment by 50;
+create sequence if not exists refresh_token_seq start with 1 increment by 50;
+create sequence if not exists password_recovery_seq start with 1 increment by 50;
+create sequence if not exists mail_outbox_seq start with 1 increment by 50;
+
+select setval('users_seq', greatest((select coalesce(max(id), 1) from users), (select last_value from users_seq)));
+select setval('accounts_seq', greatest((select coalesce(max(id), 1) from accounts), (select last_value from accounts_seq)));
+select setval('categories_seq', greatest((select coalesce(max(id), 1) from categories), (select last_value from categories_seq)));
+select setval('transactions_seq', greatest((select coalesce(max(id), 1) from transactions), (select last_value from transactions_seq)));
+select setval('refresh_token_seq', greatest((select coalesce(max(id), 1) from refresh_token), (select last_value from refresh_token_seq)));
+select setval('password_recovery_seq', greatest((select coalesce(max(id), 1) from password_recovery), (select last_value from password_recovery_seq)));
+select setval('mail_outbox_seq', greatest((select coalesce(max(id), 1) from mail_outbox), (select last_value from mail_outbox_seq)));
@@ -0,0 +1,35 @@
+-- Índices de las consultas de los repositorios. CONCURRENTLY: no bloquea escrituras
+-- al crearlos sobre tablas ya pobladas (Flyway ejecuta este script fuera de transacción).
+
+-- findByUserId, findPage (keyset date desc, id desc), export e informes por rango de fechas
+create index concurrently if not exists idx_transactions_user_date
+    on transactions (user_id, transaction_date desc, id desc);
+
+-- Consultas por rango de fechas sin usuario (barridos, mantenimiento); BRIN ocupa muy poco
+-- porque transaction_date crece casi en el mismo orden que la inserción
+create index concurrently if not exists idx_transactions_date_brin
+    on transactions using brin (transaction_date);
+
+-- findByCategoryId
+create index concurrently if not exists idx_transactions_category
+    on transactions (category_id);
+
+-- findByAccountIdAndUserId y findExistingExternalIds usan la única (account_id, external_id)
+
+-- findByUserId / findByUserIdAndType
+create index concurrently if not exists idx_accounts_user
+    on accounts (user_id);
+
+create index concurrently if not exists idx_categories_user_type
+    on categories (user_id, type);
+
+-- findByEmail / deleteByEmail
+create index concurrently if not exists idx_password_recovery_email
+    on password_recovery (email);
+
+-- Barrido y sincronización de revocaciones
+create index concurrently if not exists idx_revoked_tokens_expires
+    on revoked_tokens (expires_at);
+
+create index concurrently if not exists idx_revoked_tokens_revoked
+    on revoked_tokens (revoked_at);
@@ -0,0 +1,15 @@
+-- Histórico diario por cuenta: flujo acumulado (ingresos - gastos) hasta cada día con movimientos
+create table account_daily_balances (
+    account_id      bigint        not null references accounts on delete cascade,
+    balance_date    date          not null,
+    cumulative_flow numeric(38,2) not null,
+    primary key (account_id, balance_date)
+);
+
+-- Carga inicial desde las transacciones existentes
+insert into account_daily_balances (account_id, balance_date, cumulative_flow)
+select d.account_id, d.flow_date, sum(d.flow) over (partition by d.account_id order by d.flow_date)
+from (select t.account_id, cast(t.transaction_date as date) as flow_date,
+             sum(case when t.type = 'INCOME' then t.amount else -t.amount end) as flow
+      from transactions t
+      group by t.account_id, cast(t.transaction_date as date)) d;
@@ -0,0 +1,20 @@
+-- Borrados de cuentas y categorías con muchos movimientos: se procesan por tramos en segundo plano
+create sequence deletion_jobs_seq start with 1 increment by 50;
+
+create table deletion_jobs (
+    id             bigint                      not null primary key,
+    user_id        bigint                      not null,
+    target         varchar(16)                 not null check (target in ('ACCOUNT', 'CATEGORY')),
+    target_id      bigint                      not null,
+    reassign_to    bigint,
+    status         varchar(16)                 not null check (status in ('PENDING', 'RUNNING', 'DONE', 'FAILED')),
+    total_rows     bigint                      not null,
+    processed_rows bigint                      not null,
+    claimed_at     timestamp(6) with time zone,
+    last_error     varchar(1000),
+    created_at     timestamp(6) with time zone not null,
+    finished_at    timestamp(6) with time zone
+);
+
+create index idx_deletion_jobs_status on deletion_jobs (status, created_at);
+create index idx_deletion_jobs_target on deletion_jobs (target, target_id);
@@ -0,0 +1,5 @@
+-- Extensiones de la búsqueda de movimientos. Las dos son "trusted": basta con ser
+-- propietario de la base de datos para crearlas.
+-- pg_trgm: similitud y ILIKE '%texto%' indexados; btree_gin: user_id como primera columna de un GIN
+create extension if not exists pg_trgm;
+create extension if not exists btree_gin;
@@ -0,0 +1,14 @@
+-- Índices de searchDescriptions y suggestDescriptions, siempre acotados por usuario.
+-- CONCURRENTLY: Flyway ejecuta este script fuera de transacción, como V3.
+
+-- Texto completo: to_tsvector('spanish', description) @@ websearch_to_tsquery(...)
+create index concurrently if not exists idx_transactions_fts
+    on transactions using gin (user_id, to_tsvector('spanish', description));
+
+-- Subcadenas y errores de tecleo: description ilike '%texto%' y similarity()
+create index concurrently if not exists idx_transactions_trgm
+    on transactions using gin (user_id, description gin_trgm_ops);
+
+-- Autocompletado por prefijo: lower(description) like 'pref%'
+create index concurrently if not exists idx_transactions_prefix
+    on transactions (user_id, lower(description) text_pattern_ops);
@@ -0,0 +1,29 @@
+-- Sesiones de refresco por dispositivo. Sustituyen a refresh_token (una fila por usuario: el
+-- login en un dispositivo cerraba la sesión de los demás). Solo se guarda el SHA-256 del token
+create sequence user_sessions_seq start with 1 increment by 50;
+
+create table user_sessions (
+    id           bigint                      not null primary key,
+    user_id      bigint                      not null references users on delete cascade,
+    token_hash   varchar(64)                 not null,
+    device       varchar(255),
+    created_at   timestamp(6) with time zone not null,
+    last_used_at timestamp(6) with time zone not null,
+    expires_at   timestamp(6) with time zone not null
+);
+
+-- Renovación: una lectura por hash
+create unique index idx_user_sessions_token on user_sessions (token_hash);
+-- Límite de dispositivos: las sesiones del usuario de la menos a la más usada
+create index idx_user_sessions_user on user_sessions (user_id, last_used_at);
+-- Barrido de caducadas
+create index idx_user_sessions_expires on user_sessions (expires_at);
+
+-- Los refresh tokens vigentes siguen sirviendo tras el despliegue
+insert into user_sessions (id, user_id, token_hash, created_at, last_used_at, expires_at)
+select nextval('user_sessions_seq'), user_id, encode(sha256(convert_to(token, 'UTF8')), 'hex'), now(), now(), expiry_date
+from refresh_token
+where user_id is not null and expiry_date > now();
+
+drop table refresh_token;
+drop sequence refresh_token_seq;
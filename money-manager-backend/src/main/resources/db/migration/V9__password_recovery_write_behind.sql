@@ -0,0 +1,10 @@
+-- Los códigos de recuperación pasan a memoria (RecoveryCodeStore). Esta tabla queda como copia
+-- opcional (security.recovery.persistent): una fila por email y sin filas caducadas
+delete from password_recovery where expiration is null or expiration < localtimestamp;
+delete from password_recovery p
+where exists (select 1 from password_recovery q where q.email = p.email and q.id > p.id);
+
+-- El índice de V3 pasa a ser único
+drop index if exists idx_password_recovery_email;
+create unique index idx_password_recovery_email on password_recovery (email);
+create index idx_password_recovery_expiration on password_recovery (expiration);
@@ -0,0 +1,66 @@
+package com.money.manager.webapp.controller;
+
+import com.money.manager.webapp.component.JwtUtils;
+import com.money.manager.webapp.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    private static final long USER_ID = 7301L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @MockitoSpyBean
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void unchangedDataAnswers304WithoutQueryingAndWritesInvalidate() throws Exception {
+        String auth = "Bearer " + jwtUtils.generateToken("etag@test.com", USER_ID);
+
+        String etag = mockMvc.perform(get("/api/categories").header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        clearInvocations(categoryRepository);
+        mockMvc.perform(get("/api/categories")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        verify(categoryRepository, never()).findByUserId(anyLong());
+
+        mockMvc.perform(post("/api/categories")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ocio\",\"type\":\"EXPENSE\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/categories")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
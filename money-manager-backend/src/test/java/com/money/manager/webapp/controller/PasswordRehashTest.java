@@ -0,0 +1,55 @@
+package com.money.manager.webapp.controller;
+
+import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// security.password.strength=4 en el perfil de tests
+@SpringBootTest
+@AutoConfigureMockMvc
+class PasswordRehashTest {
+
+    private static final String EMAIL = "rehash@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void successfulLoginUpgradesHashToConfiguredCost() throws Exception {
+        String oldHash = new BCryptPasswordEncoder(5).encode("Secreto1!");
+        userRepository.save(User.builder().fullName("Rehash").email(EMAIL).password(oldHash).build());
+
+        mockMvc.perform(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"Otra1234!\"}"))
+                .andExpect(status().is4xxClientError());
+        assertEquals(oldHash, userRepository.findByEmail(EMAIL).orElseThrow().getPassword());
+
+        mockMvc.perform(post("/api/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"Secreto1!\"}"))
+                .andExpect(status().isOk());
+
+        String newHash = userRepository.findByEmail(EMAIL).orElseThrow().getPassword();
+        assertTrue(newHash.startsWith("$2a$04$"), newHash);
+        assertTrue(passwordEncoder.matches("Secreto1!", newHash));
+    }
+}
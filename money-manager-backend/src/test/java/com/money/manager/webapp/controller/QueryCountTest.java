@@ -0,0 +1,138 @@
+package com.money.manager.webapp.controller;
+
+import com.money.manager.webapp.component.JwtUtils;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.model.Transaction;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.CategoryRepository;
+import com.money.manager.webapp.repository.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryCountTest {
+
+    private static final long USER_ID = 7501L;
+    private static final int ACCOUNTS = 3;
+    private static final int PER_ACCOUNT = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics stats;
+    private String auth;
+    private Long firstAccountId;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        auth = "Bearer " + jwtUtils.generateToken("queries@test.com", USER_ID);
+        List<Account> accounts = accountRepository.findByUserId(USER_ID);
+        if (!accounts.isEmpty()) {
+            firstAccountId = accounts.get(0).getId();
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed());
+    }
+
+    private void seed() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Varios").type(TransactionType.EXPENSE).userId(USER_ID).build());
+        List<Transaction> rows = new ArrayList<>();
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int a = 0; a < ACCOUNTS; a++) {
+            Account account = new Account();
+            account.setName("Cuenta " + a);
+            account.setType("BANK");
+            account.setUserId(USER_ID);
+            account = accountRepository.save(account);
+            if (firstAccountId == null) {
+                firstAccountId = account.getId();
+            }
+            for (int i = 0; i < PER_ACCOUNT; i++) {
+                rows.add(Transaction.builder()
+                        .description("Movimiento " + a + "-" + i)
+                        .amount(BigDecimal.TEN)
+                        .type(TransactionType.EXPENSE)
+                        .date(date.plusDays(a * PER_ACCOUNT + i))
+                        .account(account)
+                        .categoryId(category.getId())
+                        .userId(USER_ID)
+                        .build());
+            }
+        }
+        transactionRepository.saveAll(rows);
+    }
+
+    @Test
+    void transactionListingIsASingleQuery() throws Exception {
+        assertStatements(1, get("/api/transactions"), ACCOUNTS * PER_ACCOUNT);
+    }
+
+    @Test
+    void accountListingIsASingleQuery() throws Exception {
+        assertStatements(1, get("/api/transactions/account/{accountId}", firstAccountId), PER_ACCOUNT);
+    }
+
+    @Test
+    void pageIsASingleQuery() throws Exception {
+        assertStatements(1, get("/api/transactions/page").param("size", "20"), null);
+    }
+
+    // Con la caché de segundo nivel vacía: cuenta lo que realmente llega a la base de datos
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request, Integer size) throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        stats.clear();
+
+        var result = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk());
+        if (size != null) {
+            result.andExpect(jsonPath("$.length()").value(size));
+        }
+
+        assertEquals(expected, stats.getPrepareStatementCount(), "sentencias preparadas");
+    }
+}
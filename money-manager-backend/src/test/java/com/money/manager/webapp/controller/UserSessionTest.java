@@ -0,0 +1,143 @@
+package com.money.manager.webapp.controller;
+
+import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.model.UserSession;
+import com.money.manager.webapp.repository.UserRepository;
+import com.money.manager.webapp.repository.UserSessionRepository;
+import com.money.manager.webapp.service.RefreshTokenService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// security.sessions.maxDevices=3 y sweepChunkSize=2 en el perfil de tests
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserSessionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSessionRepository sessionRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void loginsFromTwoDevicesKeepBothSessions() throws Exception {
+        User user = user("sessions-two@test.com");
+
+        String laptop = login(user, "Laptop");
+        String phone = login(user, "Phone");
+
+        assertEquals(2, sessionRepository.findIdsByUserIdNewestFirst(user.getId()).size());
+        assertTrue(sessionRepository.findAll().stream()
+                .noneMatch(s -> s.getTokenHash().equals(laptop) || s.getTokenHash().equals(phone)));
+
+        refresh(laptop).andExpect(status().isOk());
+        MvcResult phoneRefresh = refresh(phone).andExpect(status().isOk()).andReturn();
+
+        // El logout del móvil no cierra el portátil
+        mockMvc.perform(post("/api/user/logout").cookie(phoneRefresh.getResponse().getCookies()))
+                .andExpect(status().isOk());
+        assertEquals(1, sessionRepository.findIdsByUserIdNewestFirst(user.getId()).size());
+    }
+
+    @Test
+    void refreshRotatesTokenAndRejectsTheOldOne() throws Exception {
+        User user = user("sessions-rotate@test.com");
+        String first = login(user, "Laptop");
+
+        MvcResult result = refresh(first).andExpect(status().isOk()).andReturn();
+        String second = refreshCookie(result);
+        assertNotEquals(first, second);
+
+        refresh(first).andExpect(status().isForbidden());
+        refresh(second).andExpect(status().isOk());
+    }
+
+    @Test
+    void deviceCapClosesLeastRecentlyUsedSession() throws Exception {
+        User user = user("sessions-cap@test.com");
+        String oldest = login(user, "Device 1");
+        login(user, "Device 2");
+        login(user, "Device 3");
+        login(user, "Device 4");
+
+        assertEquals(3, sessionRepository.findIdsByUserIdNewestFirst(user.getId()).size());
+        refresh(oldest).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void expiredSessionsAreRejectedAndSweptInChunks() throws Exception {
+        User user = user("sessions-sweep@test.com");
+        String live = login(user, "Laptop");
+        Instant past = Instant.now().minus(2, ChronoUnit.DAYS);
+        for (int i = 0; i < 5; i++) {
+            sessionRepository.save(UserSession.builder().userId(user.getId()).tokenHash(RefreshTokenService.hash("expired-" + i))
+                    .device("Old").createdAt(past).lastUsedAt(past).expiresAt(past.plusSeconds(60)).build());
+        }
+        refresh("expired-0").andExpect(status().isForbidden());
+
+        // El token caducado presentado ya se borró al rechazarlo
+        assertEquals(4, refreshTokenService.sweepExpired());
+
+        List<UserSession> left = sessionRepository.findAll().stream()
+                .filter(s -> s.getUserId().equals(user.getId())).toList();
+        assertEquals(1, left.size());
+        assertEquals("Laptop", left.get(0).getDevice());
+        refresh(live).andExpect(status().isOk());
+    }
+
+    private User user(String email) {
+        return userRepository.save(User.builder().fullName("Sesiones").email(email)
+                .password(passwordEncoder.encode("Secreto1!")).build());
+    }
+
+    private String login(User user, String device) throws Exception {
+        return refreshCookie(loginResult(user, device));
+    }
+
+    private MvcResult loginResult(User user, String device) throws Exception {
+        return mockMvc.perform(post("/api/user/login")
+                        .header(HttpHeaders.USER_AGENT, device)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"Secreto1!\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private ResultActions refresh(String token) throws Exception {
+        return mockMvc.perform(post("/api/user/refresh-token").cookie(new Cookie("refreshToken", token)));
+    }
+
+    private static String refreshCookie(MvcResult result) {
+        Cookie cookie = result.getResponse().getCookie("refreshToken");
+        assertTrue(cookie != null && !cookie.getValue().isEmpty());
+        return cookie.getValue();
+    }
+}
@@ -0,0 +1,40 @@
+package com.money.manager.webapp.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StatementValuesTest {
+
+    @Test
+    void lastSeparatorIsTheDecimalMark() {
+        assertEquals(new BigDecimal("1234.56"), StatementValues.parseAmount("1.234,56"));
+        assertEquals(new BigDecimal("1234.56"), StatementValues.parseAmount("1,234.56"));
+        assertEquals(new BigDecimal("-1234567.89"), StatementValues.parseAmount("-1.234.567,89"));
+        assertEquals(new BigDecimal("12.50"), StatementValues.parseAmount("12,50"));
+        assertEquals(new BigDecimal("12.5"), StatementValues.parseAmount("12.5"));
+        assertEquals(new BigDecimal("-7"), StatementValues.parseAmount(" -7 "));
+    }
+
+    @Test
+    void singleSeparatorFollowedByThreeDigitsGroupsThousands() {
+        assertEquals(new BigDecimal("1234"), StatementValues.parseAmount("1.234"));
+        assertEquals(new BigDecimal("1234"), StatementValues.parseAmount("1,234"));
+        assertEquals(new BigDecimal("1234567"), StatementValues.parseAmount("1.234.567"));
+    }
+
+    @Test
+    void ofxAmountsNeverGroupThousands() {
+        assertEquals(new BigDecimal("1.234"), StatementValues.parseOfxAmount("1.234"));
+        assertEquals(new BigDecimal("-12.50"), StatementValues.parseOfxAmount("-12,50"));
+    }
+
+    @Test
+    void garbageIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> StatementValues.parseAmount("12,3,4.5.6"));
+        assertThrows(IllegalArgumentException.class, () -> StatementValues.parseAmount("abc"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.money.manager.webapp.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.money.manager.webapp.component.JwtUtils;
+import com.money.manager.webapp.security.JwtAuthenticationFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestIdFilterTest {
+
+    private static final long USER_ID = 7901L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private final Logger filterLogger = (Logger) LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    @BeforeEach
+    void captureLog() {
+        events.start();
+        filterLogger.addAppender(events);
+    }
+
+    @AfterEach
+    void releaseLog() {
+        filterLogger.detachAppender(events);
+    }
+
+    @Test
+    void logLinesCarryRequestAndUserIds() throws Exception {
+        mockMvc.perform(get("/api/categories")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken("mdc@test.com", USER_ID))
+                        .header(RequestIdFilter.HEADER, "front-42"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER, "front-42"));
+
+        ILoggingEvent authenticated = events.list.stream()
+                .filter(e -> e.getFormattedMessage().contains("autenticada"))
+                .findFirst().orElseThrow();
+        assertEquals("front-42", authenticated.getMDCPropertyMap().get(RequestIdFilter.REQUEST_ID));
+        assertEquals(String.valueOf(USER_ID), authenticated.getMDCPropertyMap().get(RequestIdFilter.USER_ID));
+        // El MDC no se arrastra al siguiente uso del hilo
+        assertNull(MDC.get(RequestIdFilter.REQUEST_ID));
+        assertNull(MDC.get(RequestIdFilter.USER_ID));
+    }
+
+    @Test
+    void invalidIncomingIdIsReplaced() throws Exception {
+        String id = mockMvc.perform(get("/api/categories").header(RequestIdFilter.HEADER, "<script>alert(1)</script>"))
+                .andReturn().getResponse().getHeader(RequestIdFilter.HEADER);
+
+        assertNotEquals("<script>alert(1)</script>", id);
+        assertTrue(id.matches("[0-9a-f-]{36}"), id);
+    }
+}
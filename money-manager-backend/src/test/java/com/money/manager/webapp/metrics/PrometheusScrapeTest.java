@@ -0,0 +1,92 @@
+package com.money.manager.webapp.metrics;
+
+import com.money.manager.webapp.component.JwtUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Tomcat real: actuator responde en su propio puerto (management.server.port)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+class PrometheusScrapeTest {
+
+    private static final long USER_ID = 7801L;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void close() {
+        client.close();
+    }
+
+    @Test
+    void scrapeExposesRequestPoolHibernateAndBusinessMetrics() throws Exception {
+        HttpResponse<Void> categories = client.send(HttpRequest.newBuilder(api("/api/categories"))
+                        .header("Authorization", "Bearer " + jwtUtils.generateToken("metrics@test.com", USER_ID))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, categories.statusCode());
+
+        HttpResponse<Void> login = client.send(HttpRequest.newBuilder(api("/api/user/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nadie@test.com\",\"password\":\"Secreto1!\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertTrue(login.statusCode() >= 400);
+
+        // http.server.requests se registra al cerrar la petición: puede llegar justo después de la respuesta
+        scrapeUntilContains(List.of(
+                "http_server_requests_seconds_bucket{",
+                "uri=\"/api/categories\"",
+                "http_server_requests_queries_count{",
+                "hikaricp_connections_acquire_seconds_bucket{",
+                "hikaricp_connections_active{",
+                "hibernate_statements_total{",
+                "security_jwt_filter_seconds_bucket{",
+                "outcome=\"authenticated\"",
+                "moneymanager_logins_total{",
+                "outcome=\"failure\""));
+    }
+
+    private URI api(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void scrapeUntilContains(List<String> expected) throws Exception {
+        String body = "";
+        for (int attempt = 0; attempt < 20; attempt++) {
+            body = client.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + managementPort + "/actuator/prometheus")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            String scraped = body;
+            if (expected.stream().allMatch(scraped::contains)) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        String scraped = body;
+        fail("Faltan métricas: " + expected.stream().filter(e -> !scraped.contains(e)).toList());
+    }
+}
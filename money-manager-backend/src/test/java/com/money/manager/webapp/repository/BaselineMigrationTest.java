@@ -0,0 +1,82 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.MoneyManagerWebappApplication;
+import com.money.manager.webapp.model.User;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Una instalación anterior a Flyway (esquema creado por ddl-auto=update) arranca con las migraciones:
+// se marca como V1, aplica el resto, pasa la validación de Hibernate y conserva los datos
+@Testcontainers(disabledWithoutDocker = true)
+class BaselineMigrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @ParameterizedTest
+    @CsvSource({
+            // Desplegada con la versión inicial
+            "inicial, false",
+            // Desplegada justo antes de Flyway: ddl-auto ya había añadido outbox, revocaciones, external_id y secuencias
+            "previa, true"
+    })
+    void existingInstallMigratesFromTheBaseline(String database, boolean withAdditions) {
+        JdbcTemplate admin = new JdbcTemplate(dataSource(postgres.getJdbcUrl()));
+        admin.execute("create database " + database);
+        String url = "jdbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/" + database;
+
+        ResourceDatabasePopulator legacy = new ResourceDatabasePopulator(new ClassPathResource("db/baseline/ddl-auto-initial.sql"));
+        if (withAdditions) {
+            legacy.addScript(new ClassPathResource("db/baseline/ddl-auto-additions.sql"));
+        }
+        legacy.execute(dataSource(url));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MoneyManagerWebappApplication.class).run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.flyway.enabled=true",
+                "--server.port=0",
+                "--management.server.port=0")) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+            List<String> applied = jdbc.queryForList(
+                    "select version from flyway_schema_history where success order by installed_rank", String.class);
+            assertEquals("1", applied.get(0));
+            assertEquals("BASELINE", jdbc.queryForObject(
+                    "select type from flyway_schema_history where version = '1'", String.class));
+            assertTrue(applied.contains("1.1"), applied.toString());
+
+            assertEquals(2, jdbc.queryForObject("select count(*) from transactions", Integer.class));
+            // El refresh token vigente pasa a sesión (V8); el caducado se descarta
+            assertEquals(1, jdbc.queryForObject("select count(*) from user_sessions", Integer.class));
+            assertEquals("EUR", jdbc.queryForObject("select currency from accounts where id = 1", String.class));
+
+            // Los ids nuevos salen de las secuencias, por encima de los que asignó IDENTITY
+            User created = context.getBean(UserRepository.class)
+                    .save(User.builder().fullName("Nuevo").email("nuevo@test.com").password("x").build());
+            assertTrue(created.getId() > 2, "id " + created.getId());
+        }
+    }
+
+    private static DriverManagerDataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, postgres.getUsername(), postgres.getPassword());
+    }
+}
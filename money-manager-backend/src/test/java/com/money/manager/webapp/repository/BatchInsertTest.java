@@ -0,0 +1,73 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Transaction;
+import com.money.manager.webapp.model.TransactionType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BatchInsertTest {
+
+    private static final long USER_ID = 7101L;
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    void insertsAreSentInJdbcBatches() {
+        Account account = new Account();
+        account.setName("Lotes");
+        account.setType("Banco");
+        account.setUserId(USER_ID);
+        account = accountRepository.save(account);
+
+        List<Transaction> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(Transaction.builder()
+                    .description("Movimiento " + i)
+                    .amount(BigDecimal.ONE)
+                    .type(TransactionType.EXPENSE)
+                    .date(LocalDateTime.now())
+                    .account(account)
+                    .categoryId(1L)
+                    .userId(USER_ID)
+                    .build());
+        }
+
+        // Las estadísticas están siempre activas (hibernate.generate_statistics); solo se ponen a cero
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        transactionRepository.saveAll(rows);
+
+        int expectedBatches = ROWS / batchSize;
+        // Un execute por lote de INSERT y un nextval por bloque de 50 ids
+        long roundTrips = stats.getPrepareStatementCount();
+        assertEquals(ROWS, stats.getEntityInsertCount());
+        assertTrue(roundTrips <= expectedBatches * 2L + 2,
+                "Se esperaban ~" + expectedBatches + " lotes pero hubo " + roundTrips + " sentencias");
+    }
+}
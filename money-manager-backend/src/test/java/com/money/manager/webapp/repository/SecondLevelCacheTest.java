@@ -0,0 +1,132 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.dto.TransactionRequest;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.service.AccountService;
+import com.money.manager.webapp.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final long USER_ID = 7401L;
+    private static final long OTHER_USER_ID = 7402L;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void userIsResolvedByEmailFromNaturalIdCache() {
+        userRepository.save(User.builder().fullName("Caché").email("cache@test.com").password("x").build());
+        userRepository.findByEmail("cache@test.com");
+        stats.clear();
+
+        User user = userRepository.findByEmail("cache@test.com").orElseThrow();
+
+        assertEquals("Caché", user.getFullName());
+        assertEquals(0, stats.getPrepareStatementCount());
+        assertTrue(stats.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    void accountQueryCacheAndRegionAreInvalidatedByWrites() {
+        Account account = newAccount("Principal", OTHER_USER_ID);
+        accountService.createAccount(account);
+        accountRepository.findByUserId(OTHER_USER_ID);
+        stats.clear();
+
+        assertEquals(1, accountRepository.findByUserId(OTHER_USER_ID).size());
+        assertEquals(1, stats.getQueryCacheHitCount());
+        assertEquals(0, stats.getPrepareStatementCount());
+
+        accountService.createAccount(newAccount("Ahorro", OTHER_USER_ID));
+        assertEquals(2, accountRepository.findByUserId(OTHER_USER_ID).size());
+
+        // El incremento atómico del saldo (HQL masivo) no deja saldos antiguos en la caché
+        accountRepository.findById(account.getId());
+        accountRepository.findById(account.getId());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                accountRepository.adjustBalance(account.getId(), new BigDecimal("25.00")));
+        assertEquals(0, new BigDecimal("25.00").compareTo(accountRepository.findById(account.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void categoryLookupsHitTheCacheAcrossTransactionWrites() {
+        Account account = accountService.createAccount(newAccount("Gastos", USER_ID));
+        Category category = categoryRepository.save(Category.builder()
+                .name("Comida")
+                .type(TransactionType.EXPENSE)
+                .userId(USER_ID)
+                .build());
+
+        create(account.getId(), category.getId());
+        stats.clear();
+
+        // Las consultas nativas del histórico declaran sus tablas y no vacían la región de categorías
+        create(account.getId(), category.getId());
+        assertEquals(1, stats.getDomainDataRegionStatistics("categories").getHitCount());
+        assertEquals(0, stats.getDomainDataRegionStatistics("categories").getMissCount());
+    }
+
+    private void create(Long accountId, Long categoryId) {
+        TransactionRequest request = new TransactionRequest();
+        request.setDescription("Compra");
+        request.setAmount(BigDecimal.TEN);
+        request.setType(TransactionType.EXPENSE);
+        request.setDate(LocalDateTime.now());
+        request.setAccountId(accountId);
+        request.setCategoryId(categoryId);
+        transactionService.createTransaction(request, USER_ID);
+    }
+
+    private Account newAccount(String name, long userId) {
+        Account account = new Account();
+        account.setName(name);
+        account.setType("Banco");
+        account.setUserId(userId);
+        return account;
+    }
+}
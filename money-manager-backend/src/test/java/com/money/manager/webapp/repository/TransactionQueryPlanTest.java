@@ -0,0 +1,185 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.dto.TransactionFilter;
+import com.money.manager.webapp.model.TransactionType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Aplica las migraciones sobre PostgreSQL real y comprueba que ninguna consulta de los
+// repositorios hace seq scan sobre las tablas calientes con un volumen realista
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionQueryPlanTest {
+
+    private static final int USERS = 2000;
+    private static final int ACCOUNTS_PER_USER = 4;
+    private static final int CATEGORIES_PER_USER = 10;
+    private static final int TRANSACTIONS = 400_000;
+
+    private static final long USER_ID = 42L;
+    private static final long ACCOUNT_ID = (USER_ID - 1) * ACCOUNTS_PER_USER + 1;
+    private static final long CATEGORY_ID = (USER_ID - 1) * CATEGORIES_PER_USER + 1;
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private static final List<String> HOT_TABLES = List.of("transactions", "accounts", "categories");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                insert into accounts (id, name, type, balance, user_id)
+                select g, 'Cuenta ' || g, 'Banco', 0, (g - 1) / ? + 1
+                from generate_series(1, ?) g
+                """, ACCOUNTS_PER_USER, USERS * ACCOUNTS_PER_USER);
+        jdbcTemplate.update("""
+                insert into categories (id, name, type, color, user_id)
+                select g, 'Categoría ' || g, case when g % 2 = 0 then 'INCOME' else 'EXPENSE' end, '#000000', (g - 1) / ? + 1
+                from generate_series(1, ?) g
+                """, CATEGORIES_PER_USER, USERS * CATEGORIES_PER_USER);
+        jdbcTemplate.update("""
+                insert into transactions (id, description, amount, type, transaction_date,
+                                          account_id, category_id, user_id, external_id)
+                select g, 'Movimiento ' || g, (g % 500) + 0.99,
+                       case when g % 3 = 0 then 'INCOME' else 'EXPENSE' end,
+                       timestamp '2020-01-01' + g * interval '5 minutes',
+                       (u - 1) * ? + 1 + g % ?, (u - 1) * ? + 1 + g % ?, u, md5(g::text)
+                from (select g, g % ? + 1 as u from generate_series(1, ?) g) s
+                """, ACCOUNTS_PER_USER, ACCOUNTS_PER_USER, CATEGORIES_PER_USER, CATEGORIES_PER_USER,
+                USERS, TRANSACTIONS);
+        jdbcTemplate.execute("select setval('transactions_seq', " + TRANSACTIONS + ")");
+        jdbcTemplate.execute("analyze accounts");
+        jdbcTemplate.execute("analyze categories");
+        jdbcTemplate.execute("analyze transactions");
+    }
+
+    @Test
+    void accountAndCategoryLookupsUseIndexes() {
+        assertNoSeqScan("AccountRepository.findByUserId", () -> accountRepository.findByUserId(USER_ID));
+        assertNoSeqScan("AccountRepository.adjustBalance", () -> accountRepository.adjustBalance(ACCOUNT_ID, BigDecimal.ONE));
+        assertNoSeqScan("CategoryRepository.findByUserId", () -> categoryRepository.findByUserId(USER_ID));
+        assertNoSeqScan("CategoryRepository.findByUserIdAndType",
+                () -> categoryRepository.findByUserIdAndType(USER_ID, TransactionType.EXPENSE));
+    }
+
+    @Test
+    void transactionQueriesUseIndexes() {
+        assertNoSeqScan("findResponsesByUserId", () -> transactionRepository.findResponsesByUserId(USER_ID));
+        assertNoSeqScan("findResponsesByAccountIdAndUserId", () -> transactionRepository.findResponsesByAccountIdAndUserId(ACCOUNT_ID, USER_ID));
+        assertNoSeqScan("findIdsByCategoryId",
+                () -> transactionRepository.findIdsByCategoryId(CATEGORY_ID, USER_ID, Limit.of(1000)));
+        assertNoSeqScan("findIdsByAccountId", () -> transactionRepository.findIdsByAccountId(ACCOUNT_ID, Limit.of(1000)));
+        assertNoSeqScan("countByAccountId", () -> transactionRepository.countByAccountId(ACCOUNT_ID));
+        assertNoSeqScan("sumDailyFlowForCategory",
+                () -> transactionRepository.sumDailyFlowForCategory(CATEGORY_ID, USER_ID));
+        assertNoSeqScan("reassignCategory",
+                () -> transactionRepository.reassignCategory(CATEGORY_ID, CATEGORY_ID + 1, USER_ID));
+        assertNoSeqScan("deleteByAccountId", () -> transactionRepository.deleteByAccountId(ACCOUNT_ID));
+        assertNoSeqScan("deleteOwned", () -> transactionRepository.deleteOwned(USER_ID, USER_ID));
+        assertNoSeqScan("findExistingExternalIds",
+                () -> transactionRepository.findExistingExternalIds(ACCOUNT_ID, Set.of("a", "b", "c")));
+
+        assertNoSeqScan("searchDescriptions",
+                () -> transactionRepository.searchDescriptions(USER_ID, "movimiento 4242", null, null, 21));
+        assertNoSeqScan("searchDescriptions (subcadena)",
+                () -> transactionRepository.searchDescriptions(USER_ID, "vimient", null, null, 21));
+        assertNoSeqScan("suggestDescriptions", () -> transactionRepository.suggestDescriptions(USER_ID, "movimiento 42", 8));
+
+        TransactionFilter noFilter = new TransactionFilter();
+        TransactionFilter filtered = new TransactionFilter();
+        filtered.setFrom(FROM.plusYears(1));
+        filtered.setTo(FROM.plusYears(2));
+        filtered.setType(TransactionType.EXPENSE);
+        filtered.setCategoryId(CATEGORY_ID);
+        filtered.setMinAmount(BigDecimal.TEN);
+
+        assertNoSeqScan("findPage (primera página)",
+                () -> transactionRepository.findPage(USER_ID, noFilter, null, null, 21));
+        assertNoSeqScan("findPage (cursor)",
+                () -> transactionRepository.findPage(USER_ID, noFilter, FROM.plusYears(2), 200_000L, 21));
+        assertNoSeqScan("findPage (filtros)",
+                () -> transactionRepository.findPage(USER_ID, filtered, null, null, 21));
+        assertNoSeqScan("streamForExport", () -> {
+            try (var rows = transactionRepository.streamForExport(USER_ID, filtered, 1000)) {
+                rows.forEach(row -> { });
+            }
+        });
+    }
+
+    @Test
+    void reportAggregationsUseIndexes() {
+        assertNoSeqScan("sumByType", () -> reportRepository.sumByType(USER_ID, FROM, TO));
+        assertNoSeqScan("sumByMonth", () -> reportRepository.sumByMonth(USER_ID, FROM, TO));
+        assertNoSeqScan("sumByCategory", () -> reportRepository.sumByCategory(USER_ID, FROM, TO));
+        assertNoSeqScan("sumByAccount", () -> reportRepository.sumByAccount(USER_ID, FROM, TO));
+    }
+
+    // Contadores de la transacción actual: reflejan el plan ejecutado con los parámetros reales
+    private void assertNoSeqScan(String query, Runnable call) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Map<String, Long> seqScans = tx.execute(status -> {
+            status.setRollbackOnly();
+            Map<String, Long> before = seqScanCounters();
+            call.run();
+            Map<String, Long> after = seqScanCounters();
+            after.replaceAll((table, count) -> count - before.get(table));
+            after.values().removeIf(count -> count == 0);
+            return after;
+        });
+        assertTrue(seqScans.isEmpty(), query + " hace seq scan sobre " + seqScans.keySet());
+    }
+
+    private Map<String, Long> seqScanCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (String table : HOT_TABLES) {
+            counters.put(table, jdbcTemplate.queryForObject(
+                    "select seq_scan from pg_stat_xact_user_tables where relname = ?", Long.class, table));
+        }
+        return counters;
+    }
+}
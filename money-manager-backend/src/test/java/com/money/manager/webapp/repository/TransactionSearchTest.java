@@ -0,0 +1,121 @@
+package com.money.manager.webapp.repository;
+
+import com.money.manager.webapp.dto.TransactionPage;
+import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.service.TransactionSearchService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// La búsqueda usa funciones de PostgreSQL (tsvector, pg_trgm): no se puede probar sobre H2
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionSearchTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TransactionSearchService searchService;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into accounts (id, name, type, balance, user_id) values (1, 'Banco', 'Banco', 0, 1), (2, 'Otra', 'Banco', 0, 2)");
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Compra supermercado Mercadona", USER_ID});
+        rows.add(new Object[]{"Compra supermercado Mercadona", USER_ID});
+        rows.add(new Object[]{"Compra supermercado Mercadona", USER_ID});
+        rows.add(new Object[]{"Compras en el supermercado", USER_ID});
+        rows.add(new Object[]{"Cena restaurante", USER_ID});
+        rows.add(new Object[]{"Super_oferta 100%", USER_ID});
+        rows.add(new Object[]{"Compra supermercado", OTHER_USER_ID});
+        for (int i = 1; i <= 25; i++) {
+            rows.add(new Object[]{"Recibo luz " + i, USER_ID});
+        }
+        long id = 1;
+        for (Object[] row : rows) {
+            jdbcTemplate.update("""
+                    insert into transactions (id, description, amount, type, transaction_date, account_id, category_id, user_id)
+                    values (?, ?, 10, 'EXPENSE', timestamp '2024-01-01' + ? * interval '1 hour', ?, 1, ?)
+                    """, id, row[0], id, row[1], row[1]);
+            id++;
+        }
+    }
+
+    @Test
+    void searchIsScopedByUserAndMatchesStemsAndSubstrings() {
+        assertEquals(Set.of("Compra supermercado Mercadona", "Compras en el supermercado"),
+                descriptions(searchService.search(USER_ID, "supermercado", null, null).getItems()));
+        // "compras" y "compra" comparten raíz
+        assertEquals(4, searchService.search(USER_ID, "compras", null, null).getItems().size());
+        // Subcadena dentro de una palabra
+        assertEquals(Set.of("Compra supermercado Mercadona", "Compras en el supermercado"),
+                descriptions(searchService.search(USER_ID, "mercad", null, null).getItems()));
+        assertEquals(Set.of("Compra supermercado"),
+                descriptions(searchService.search(OTHER_USER_ID, "supermercado", null, null).getItems()));
+        assertThrows(InvalidRequestException.class, () -> searchService.search(USER_ID, " a ", null, null));
+    }
+
+    @Test
+    void resultsAreRankedAndPagedByKeyset() {
+        // Los términos juntos puntúan más que separados
+        List<TransactionResponse> ranked = searchService.search(USER_ID, "compra supermercado", null, null).getItems();
+        assertEquals(4, ranked.size());
+        assertEquals("Compras en el supermercado", ranked.get(3).getDescription());
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = searchService.search(USER_ID, "recibo luz", cursor, 10);
+            page.getItems().forEach(t -> assertTrue(seen.add(t.getId()), "repetido " + t.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void suggestionsArePrefixMatchesByUsage() {
+        assertEquals(List.of("Compra supermercado Mercadona", "Compras en el supermercado"),
+                searchService.suggest(USER_ID, "COM", null));
+        // "_" y "%" son literales, no comodines de LIKE
+        assertEquals(List.of("Super_oferta 100%"), searchService.suggest(USER_ID, "super_", null));
+        assertFalse(searchService.suggest(USER_ID, "super%", null).contains("Compra supermercado Mercadona"));
+        assertEquals(List.of(), searchService.suggest(USER_ID, "  ", null));
+    }
+
+    private static Set<String> descriptions(List<TransactionResponse> items) {
+        Set<String> result = new HashSet<>();
+        items.forEach(t -> result.add(t.getDescription()));
+        return result;
+    }
+}
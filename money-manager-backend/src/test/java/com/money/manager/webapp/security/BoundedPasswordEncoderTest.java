@@ -0,0 +1,66 @@
+package com.money.manager.webapp.security;
+
+import com.money.manager.webapp.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void saturatedPoolRejectsInsteadOfQueueingForever() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        // 1 hilo + 1 en cola
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 4, 1, 1, 10_000);
+        String hash = new BCryptPasswordEncoder(4).encode("secreto");
+        try {
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("secreto", hash));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("secreto", hash));
+            Thread.sleep(100);
+
+            TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                    () -> encoder.matches("secreto", hash));
+            assertEquals(1, rejected.getRetryAfterSeconds());
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void hashesWithAnotherCostNeedUpgrade() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 5, 0, 0, 1000);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secreto")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secreto")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secreto")));
+        assertFalse(encoder.upgradeEncoding("texto-plano"));
+        assertEquals(12, BoundedPasswordEncoder.cost("$2a$12$abcdefghijklmnopqrstuv"));
+    }
+}
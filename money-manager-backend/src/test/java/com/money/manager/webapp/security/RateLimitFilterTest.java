@@ -0,0 +1,96 @@
+package com.money.manager.webapp.security;
+
+import com.money.manager.webapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "security.ratelimit.enabled=true",
+        "security.ratelimit.routes.login.ip.capacity=3",
+        "security.ratelimit.routes.login.ip.period=1h",
+        "security.ratelimit.routes.login.email.capacity=2",
+        "security.ratelimit.routes.login.email.period=1h"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void sameEmailIsLimitedAcrossAddressesBeforeTouchingTheDatabase() throws Exception {
+        long before = rateLimiter.throttledCounts().get("login.email");
+
+        assertNotEquals(429, login("10.0.0.1", "Limitado@test.com").andReturn().getResponse().getStatus());
+        assertNotEquals(429, login("10.0.0.2", " limitado@test.com").andReturn().getResponse().getStatus());
+
+        clearInvocations(userRepository);
+        login("10.0.0.3", "limitado@test.com")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        verify(userRepository, never()).findByEmail(anyString());
+        assertEquals(before + 1, rateLimiter.throttledCounts().get("login.email"));
+
+        assertNotEquals(429, login("10.0.0.3", "otro@test.com").andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void oneAddressIsLimitedWhateverTheEmail() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertNotEquals(429, login("10.0.0.9", "ip" + i + "@test.com").andReturn().getResponse().getStatus());
+        }
+        login("10.0.0.9", "ip3@test.com").andExpect(status().isTooManyRequests());
+        assertNotEquals(429, login("10.0.0.10", "ip3@test.com").andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void bucketRefillsOneTokenPerInterval() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        // 2 peticiones cada 2 s
+        TokenBucket bucket = new TokenBucket(0);
+        assertEquals(0, bucket.tryAcquire(0, second, 2 * second));
+        assertEquals(0, bucket.tryAcquire(0, second, 2 * second));
+        assertEquals(second, bucket.tryAcquire(0, second, 2 * second));
+        assertTrue(bucket.tryAcquire(second / 2, second, 2 * second) > 0);
+        assertEquals(0, bucket.tryAcquire(second, second, 2 * second));
+        assertFalse(bucket.isFull(second));
+        assertTrue(bucket.isFull(3 * second));
+    }
+
+    private ResultActions login(String address, String email) throws Exception {
+        return mockMvc.perform(post("/api/user/login")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"Secreto1!\"}"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.money.manager.webapp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecoveryCodeStoreTest {
+
+    @Test
+    void newCodeReplacesThePreviousOne() {
+        RecoveryCodeStore store = store(600_000);
+
+        RecoveryCodeStore.Code first = store.issue("a@test.com");
+        RecoveryCodeStore.Code second = store.issue("a@test.com");
+
+        assertTrue(second.getValue().matches("[1-9][0-9]{5}"), second.getValue());
+        assertNotSame(first, second);
+        assertSame(second, store.find("a@test.com").orElseThrow());
+        assertTrue(second.matches(second.getValue()));
+        assertFalse(second.matches(null));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void concurrentGuessesNeverExceedMaxAttempts() throws Exception {
+        RecoveryCodeStore store = store(600_000);
+        RecoveryCodeStore.Code code = store.issue("b@test.com");
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        List<CompletableFuture<Void>> guessers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            guessers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 50; i++) {
+                    if (store.tryAttempt(code)) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        CompletableFuture.allOf(guessers.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(3, allowed.get());
+        assertEquals(0, code.getAttemptsRemaining());
+    }
+
+    @Test
+    void sweepEvictsExpiredCodesButNotTheirReplacements() throws Exception {
+        RecoveryCodeStore store = store(50);
+        store.issue("c@test.com");
+        store.issue("d@test.com");
+        Thread.sleep(80);
+        RecoveryCodeStore.Code fresh = store.issue("c@test.com");
+
+        store.sweep();
+
+        assertEquals(1, store.size());
+        assertSame(fresh, store.find("c@test.com").orElseThrow());
+        assertTrue(store.find("d@test.com").isEmpty());
+    }
+
+    @Test
+    void codesAboveTheWarningThresholdAreStillIssued() {
+        RecoveryCodeStore store = new RecoveryCodeStore(null, null, 600_000, 3, 2, false);
+        for (int i = 0; i < 5; i++) {
+            store.issue("user" + i + "@test.com");
+        }
+
+        assertEquals(5, store.size());
+        assertTrue(store.find("user4@test.com").isPresent());
+    }
+
+    // Sin persistencia no se toca ni el repositorio ni las transacciones
+    private static RecoveryCodeStore store(long ttlMs) {
+        return new RecoveryCodeStore(null, null, ttlMs, 3, 100, false);
+    }
+}
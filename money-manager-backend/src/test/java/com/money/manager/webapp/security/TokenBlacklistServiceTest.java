@@ -0,0 +1,42 @@
+package com.money.manager.webapp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBlacklistServiceTest {
+
+    @Test
+    void revocationsAboveTheWarningThresholdAreStillHonoured() {
+        TokenBlacklistService blacklist = new TokenBlacklistService(null, false, 2);
+        Instant later = Instant.now().plusSeconds(600);
+
+        for (int i = 0; i < 5; i++) {
+            blacklist.revoke("jti-" + i, later);
+        }
+
+        assertEquals(5, blacklist.size());
+        assertTrue(blacklist.isRevoked("jti-4"));
+        assertFalse(blacklist.isRevoked("jti-5"));
+    }
+
+    // Se guarda vigente y caduca después: revoke() ya ignora los tokens caducados
+    @Test
+    void sweepForgetsExpiredTokens() throws Exception {
+        TokenBlacklistService blacklist = new TokenBlacklistService(null, false, 100);
+        blacklist.revoke("vigente", Instant.now().plusSeconds(600));
+        blacklist.revoke("caducado", Instant.now().plusMillis(50));
+        assertEquals(2, blacklist.size());
+
+        Thread.sleep(80);
+        assertFalse(blacklist.isRevoked("caducado"));
+        blacklist.sweep();
+
+        assertEquals(1, blacklist.size());
+        assertTrue(blacklist.isRevoked("vigente"));
+    }
+}
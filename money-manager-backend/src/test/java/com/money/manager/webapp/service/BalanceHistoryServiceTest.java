@@ -0,0 +1,121 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.BalancePointResponse;
+import com.money.manager.webapp.dto.TransactionRequest;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.AccountDailyBalance;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.repository.AccountDailyBalanceRepository;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BalanceHistoryServiceTest {
+
+    private static final long USER_ID = 7201L;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AccountDailyBalanceRepository dailyBalanceRepository;
+
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        Account account = new Account();
+        account.setName("Histórico");
+        account.setType("Banco");
+        account.setBalance(new BigDecimal("100.00")); // saldo inicial sin movimientos
+        account.setUserId(USER_ID);
+        accountId = accountRepository.save(account).getId();
+
+        categoryId = categoryRepository.save(Category.builder()
+                .name("Varios")
+                .type(TransactionType.EXPENSE)
+                .userId(USER_ID)
+                .build()).getId();
+    }
+
+    @Test
+    void backDatedTransactionsShiftLaterDays() {
+        create(DAY, "50.00", TransactionType.INCOME);
+        create(DAY.plusDays(2), "30.00", TransactionType.EXPENSE);
+        // Con fecha anterior a todo lo registrado
+        Long backDated = create(DAY.minusDays(3), "20.00", TransactionType.EXPENSE);
+
+        assertBalances(DAY.minusDays(4), DAY.plusDays(3),
+                "100.00", "80.00", "80.00", "80.00", "130.00", "130.00", "100.00", "100.00");
+
+        transactionService.deleteTransaction(backDated, USER_ID);
+
+        assertBalances(DAY.minusDays(4), DAY.plusDays(3),
+                "100.00", "100.00", "100.00", "100.00", "150.00", "150.00", "120.00", "120.00");
+    }
+
+    @Test
+    void rebuildMatchesIncrementalMaintenance() {
+        create(DAY.plusDays(5), "10.00", TransactionType.INCOME);
+        create(DAY, "40.00", TransactionType.EXPENSE);
+        create(DAY, "15.00", TransactionType.INCOME);
+        create(DAY.plusDays(1), "5.00", TransactionType.EXPENSE);
+
+        List<AccountDailyBalance> incremental = snapshot();
+        balanceHistoryService.rebuildAll();
+
+        assertEquals(incremental, snapshot());
+        assertBalances(DAY.minusDays(1), DAY.plusDays(5),
+                "100.00", "75.00", "70.00", "70.00", "70.00", "70.00", "80.00");
+    }
+
+    private Long create(LocalDate day, String amount, TransactionType type) {
+        TransactionRequest request = new TransactionRequest();
+        request.setDescription("Movimiento");
+        request.setAmount(new BigDecimal(amount));
+        request.setType(type);
+        request.setDate(day.atTime(12, 0));
+        request.setAccountId(accountId);
+        request.setCategoryId(categoryId);
+        return transactionService.createTransaction(request, USER_ID).getId();
+    }
+
+    private List<AccountDailyBalance> snapshot() {
+        return dailyBalanceRepository.findByAccountIdAndDateBetweenOrderByDate(accountId, LocalDate.MIN.plusYears(1), DAY.plusYears(1))
+                .stream()
+                .map(b -> new AccountDailyBalance(b.getAccountId(), b.getDate(), b.getCumulativeFlow().setScale(2)))
+                .toList();
+    }
+
+    private void assertBalances(LocalDate from, LocalDate to, String... expected) {
+        List<BalancePointResponse> points = balanceHistoryService.getHistory(accountId, USER_ID, from, to);
+        assertEquals(expected.length, points.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(from.plusDays(i), points.get(i).getDate());
+            assertEquals(0, new BigDecimal(expected[i]).compareTo(points.get(i).getBalance()),
+                    "Saldo del " + points.get(i).getDate());
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.BalancePointResponse;
+import com.money.manager.webapp.dto.DeletionJobResponse;
+import com.money.manager.webapp.dto.TransactionRequest;
+import com.money.manager.webapp.dto.TransactionResponse;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.model.DeletionJob;
+import com.money.manager.webapp.model.DeletionStatus;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.repository.AccountDailyBalanceRepository;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.CategoryRepository;
+import com.money.manager.webapp.repository.DeletionJobRepository;
+import com.money.manager.webapp.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// deletion.jobs.chunkSize=5 en el perfil de tests
+@SpringBootTest
+class DeletionServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Autowired
+    private DeletionService deletionService;
+
+    @Autowired
+    private DeletionJobWorker deletionJobWorker;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountDailyBalanceRepository dailyBalanceRepository;
+
+    @Autowired
+    private DeletionJobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void smallAccountIsDeletedInlineWithItsHistory() {
+        long userId = 7601L;
+        Long accountId = newAccount(userId, "Pequeña");
+        Long categoryId = newCategory(userId, TransactionType.EXPENSE);
+        for (int i = 0; i < 3; i++) {
+            create(userId, accountId, categoryId, i, "10.00", TransactionType.EXPENSE);
+        }
+
+        Optional<DeletionJobResponse> job = deletionService.deleteAccount(accountId, userId);
+
+        assertTrue(job.isEmpty());
+        assertFalse(accountRepository.existsById(accountId));
+        assertEquals(0, transactionRepository.countByAccountId(accountId));
+        assertTrue(dailyBalanceRepository.findFirstByAccountIdOrderByDateDesc(accountId).isEmpty());
+    }
+
+    @Test
+    void largeAccountIsDeletedInChunksInBackground() {
+        long userId = 7602L;
+        Long accountId = newAccount(userId, "Grande");
+        Long categoryId = newCategory(userId, TransactionType.EXPENSE);
+        for (int i = 0; i < 12; i++) {
+            create(userId, accountId, categoryId, i, "1.00", TransactionType.EXPENSE);
+        }
+
+        DeletionJobResponse job = deletionService.deleteAccount(accountId, userId).orElseThrow();
+        assertEquals(DeletionStatus.PENDING, job.getStatus());
+        assertEquals(12, job.getTotalRows());
+        // Un segundo DELETE mientras tanto no crea otro trabajo
+        assertEquals(job.getId(), deletionService.deleteAccount(accountId, userId).orElseThrow().getId());
+        assertTrue(accountRepository.existsById(accountId));
+
+        deletionJobWorker.runPending();
+
+        DeletionJobResponse done = deletionService.getJob(job.getId(), userId).orElseThrow();
+        assertEquals(DeletionStatus.DONE, done.getStatus());
+        assertEquals(12, done.getProcessedRows());
+        assertFalse(accountRepository.existsById(accountId));
+        assertEquals(0, transactionRepository.countByAccountId(accountId));
+        assertTrue(deletionService.getJob(job.getId(), userId + 1).isEmpty());
+    }
+
+    @Test
+    void deletingCategoryRevertsBalancesAndHistory() {
+        long userId = 7603L;
+        Long first = newAccount(userId, "Primera");
+        Long second = newAccount(userId, "Segunda");
+        Long removed = newCategory(userId, TransactionType.EXPENSE);
+        Long kept = newCategory(userId, TransactionType.EXPENSE);
+        for (int i = 0; i < 4; i++) {
+            create(userId, first, removed, i, "5.00", TransactionType.EXPENSE);
+            create(userId, second, removed, i, "2.00", TransactionType.EXPENSE);
+        }
+        create(userId, first, kept, 1, "30.00", TransactionType.EXPENSE);
+
+        DeletionJobResponse job = deletionService.deleteCategory(removed, userId, null).orElseThrow();
+        deletionJobWorker.runPending();
+
+        assertEquals(DeletionStatus.DONE, deletionService.getJob(job.getId(), userId).orElseThrow().getStatus());
+        assertFalse(categoryRepository.existsById(removed));
+        assertEquals(0, transactionRepository.countByCategoryId(removed, userId));
+        assertBalance(first, "70.00");
+        assertBalance(second, "100.00");
+        List<BalancePointResponse> history = balanceHistoryService.getHistory(first, userId, DAY, DAY.plusDays(2));
+        assertEquals(0, new BigDecimal("100.00").compareTo(history.get(0).getBalance()));
+        assertEquals(0, new BigDecimal("70.00").compareTo(history.get(2).getBalance()));
+        assertHistoryMatchesRebuild(userId, first, second);
+    }
+
+    // Cada tramo corrige el histórico de los días que borra: entre tramos ya cuadra con los movimientos
+    @Test
+    void eachCategoryChunkKeepsTheHistoryInStep() {
+        long userId = 7605L;
+        Long first = newAccount(userId, "Primera");
+        Long second = newAccount(userId, "Segunda");
+        Long removed = newCategory(userId, TransactionType.EXPENSE);
+        Long kept = newCategory(userId, TransactionType.INCOME);
+        for (int i = 0; i < 4; i++) {
+            create(userId, first, removed, i, "5.00", TransactionType.EXPENSE);
+            create(userId, second, removed, 3 - i, "2.00", TransactionType.EXPENSE);
+        }
+        create(userId, second, kept, 2, "40.00", TransactionType.INCOME);
+
+        DeletionJobResponse response = deletionService.deleteCategory(removed, userId, null).orElseThrow();
+        DeletionJob job = jobRepository.findById(response.getId()).orElseThrow();
+
+        int processed = new TransactionTemplate(transactionManager).execute(status -> deletionService.processChunk(job, 5));
+
+        assertEquals(5, processed);
+        assertEquals(3, transactionRepository.countByCategoryId(removed, userId));
+        assertHistoryMatchesRebuild(userId, first, second);
+
+        deletionJobWorker.runPending();
+
+        assertBalance(first, "100.00");
+        assertBalance(second, "140.00");
+        assertHistoryMatchesRebuild(userId, first, second);
+    }
+
+    @Test
+    void categoryTransactionsCanBeReassigned() {
+        long userId = 7604L;
+        Long accountId = newAccount(userId, "Reasignar");
+        Long removed = newCategory(userId, TransactionType.EXPENSE);
+        Long target = newCategory(userId, TransactionType.EXPENSE);
+        Long income = newCategory(userId, TransactionType.INCOME);
+        List<Long> ids = List.of(
+                create(userId, accountId, removed, 0, "10.00", TransactionType.EXPENSE),
+                create(userId, accountId, removed, 1, "10.00", TransactionType.EXPENSE));
+
+        assertThrows(InvalidRequestException.class, () -> deletionService.deleteCategory(removed, userId, income));
+        assertThrows(InvalidRequestException.class, () -> deletionService.deleteCategory(removed, userId, removed));
+
+        assertTrue(deletionService.deleteCategory(removed, userId, target).isEmpty());
+
+        assertFalse(categoryRepository.existsById(removed));
+        ids.forEach(id -> assertEquals(target, transactionRepository.findById(id).orElseThrow().getCategoryId()));
+        assertBalance(accountId, "80.00");
+    }
+
+    private Long newAccount(long userId, String name) {
+        Account account = new Account();
+        account.setName(name);
+        account.setType("Banco");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setUserId(userId);
+        return accountRepository.save(account).getId();
+    }
+
+    private Long newCategory(long userId, TransactionType type) {
+        return categoryRepository.save(Category.builder()
+                .name("Categoría")
+                .type(type)
+                .userId(userId)
+                .build()).getId();
+    }
+
+    private Long create(long userId, Long accountId, Long categoryId, int day, String amount, TransactionType type) {
+        TransactionRequest request = new TransactionRequest();
+        request.setDescription("Movimiento");
+        request.setAmount(new BigDecimal(amount));
+        request.setType(type);
+        request.setDate(DAY.plusDays(day).atTime(12, 0));
+        request.setAccountId(accountId);
+        request.setCategoryId(categoryId);
+        TransactionResponse response = transactionService.createTransaction(request, userId);
+        return response.getId();
+    }
+
+    // El histórico mantenido a base de ajustes da los mismos saldos diarios que reconstruirlo desde cero
+    private void assertHistoryMatchesRebuild(long userId, Long... accountIds) {
+        Map<Long, List<BalancePointResponse>> incremental = new HashMap<>();
+        for (Long accountId : accountIds) {
+            incremental.put(accountId, balanceHistoryService.getHistory(accountId, userId, DAY.minusDays(1), DAY.plusDays(4)));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Long accountId : accountIds) {
+                accountRepository.lockById(accountId);
+                balanceHistoryService.rebuild(accountId);
+            }
+        });
+        for (Long accountId : accountIds) {
+            List<BalancePointResponse> rebuilt = balanceHistoryService.getHistory(accountId, userId, DAY.minusDays(1), DAY.plusDays(4));
+            for (int i = 0; i < rebuilt.size(); i++) {
+                assertEquals(0, rebuilt.get(i).getBalance().compareTo(incremental.get(accountId).get(i).getBalance()),
+                        "Cuenta " + accountId + ", saldo del " + rebuilt.get(i).getDate());
+            }
+        }
+    }
+
+    private void assertBalance(Long accountId, String expected) {
+        BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), "saldo " + balance);
+    }
+}
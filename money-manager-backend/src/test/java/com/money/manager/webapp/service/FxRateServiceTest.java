@@ -0,0 +1,134 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.ConsolidatedBalanceResponse;
+import com.money.manager.webapp.dto.ConvertedAccountBalance;
+import com.money.manager.webapp.exception.InvalidRequestException;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.FxRateRepository;
+import com.money.manager.webapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Tipos de fx-rates.csv: USD 1.0850 y GBP 0.8450 por 1 EUR
+@SpringBootTest
+class FxRateServiceTest {
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FxRateRepository fxRateRepository;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void restoreRates() {
+        fxRateService.importRates(Map.of("USD", new BigDecimal("1.0850")));
+        fxRateRepository.deleteById("SEK");
+        fxRateService.refresh();
+    }
+
+    @Test
+    void consolidatedBalanceConvertsEveryAccountInOnePass() {
+        User user = userRepository.save(User.builder().fullName("Divisas").email("fx@test.com").password("x").build());
+        accountService.createAccount(account("Banco", null, "100.00", user.getId()));
+        accountService.createAccount(account("Nueva York", "usd", "108.50", user.getId()));
+        accountService.createAccount(account("Londres", "GBP", "84.50", user.getId()));
+
+        ConsolidatedBalanceResponse inEuros = accountService.getConsolidatedBalance(user.getId(), null);
+        assertEquals("EUR", inEuros.getCurrency());
+        assertEquals(new BigDecimal("300.00"), inEuros.getTotal());
+        assertEquals(List.of("EUR", "GBP", "USD"), inEuros.getAccounts().stream()
+                .map(ConvertedAccountBalance::getCurrency).sorted().toList());
+
+        ConsolidatedBalanceResponse inDollars = accountService.getConsolidatedBalance(user.getId(), "USD");
+        assertEquals(new BigDecimal("325.50"), inDollars.getTotal());
+
+        // Una divisa que ya no tiene tipo no suma, pero se avisa
+        Account legacy = account("Sídney", null, "50.00", user.getId());
+        legacy.setCurrency("AUD");
+        accountRepository.save(legacy);
+        ConsolidatedBalanceResponse partial = accountService.getConsolidatedBalance(user.getId(), null);
+        assertEquals(new BigDecimal("300.00"), partial.getTotal());
+        assertEquals(List.of("AUD"), partial.getMissingRates());
+        assertNull(partial.getAccounts().stream()
+                .filter(a -> a.getCurrency().equals("AUD")).findFirst().orElseThrow().getConverted());
+
+        assertThrows(InvalidRequestException.class,
+                () -> accountService.createAccount(account("Falsa", "XXX", "1", user.getId())));
+    }
+
+    @Test
+    void reloadSwapsTheSnapshotWithoutTouchingReadersOfTheOldOne() {
+        FxRateService.Snapshot before = fxRateService.current();
+
+        fxRateService.importRates(Map.of("USD", new BigDecimal("2")));
+        fxRateService.refresh();
+
+        FxRateService.Snapshot after = fxRateService.current();
+        assertNotSame(before, after);
+        assertEquals(0, new BigDecimal("108.50").compareTo(before.convert(new BigDecimal("100"), "EUR", "USD").orElseThrow()));
+        assertEquals(0, new BigDecimal("200").compareTo(after.convert(new BigDecimal("100"), "EUR", "USD").orElseThrow()));
+    }
+
+    @Test
+    void ratesFileIsImportedAgainOnlyWhenItChanges(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("rates.csv");
+        Files.writeString(file, "# prueba\nSEK,11.5\nm4l,1\nNOK,abc\n");
+        FxRateService fromFile = new FxRateService(fxRateRepository, resourceLoader, transactionManager,
+                file.toUri().toString());
+
+        fromFile.reload();
+        assertEquals(0, new BigDecimal("11.5").compareTo(fromFile.current().convert(BigDecimal.ONE, "EUR", "SEK").orElseThrow()));
+        assertFalse(fromFile.current().supports("NOK"));
+        assertFalse(fromFile.current().supports("M4L"));
+
+        Files.writeString(file, "SEK,12\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        fromFile.reload();
+        assertEquals(0, new BigDecimal("12").compareTo(fromFile.current().convert(BigDecimal.ONE, "EUR", "SEK").orElseThrow()));
+    }
+
+    private Account account(String name, String currency, String balance, Long userId) {
+        Account account = new Account();
+        account.setName(name);
+        account.setType("Banco");
+        account.setCurrency(currency);
+        account.setBalance(new BigDecimal(balance));
+        account.setUserId(userId);
+        return account;
+    }
+}
@@ -0,0 +1,142 @@
+package com.money.manager.webapp.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.money.manager.webapp.model.MailOutbox;
+import com.money.manager.webapp.model.MailStatus;
+import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.repository.MailOutboxRepository;
+import com.money.manager.webapp.repository.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MailDispatcherTest {
+
+    private static final String EMAIL = "outbox@test.com";
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private PasswordRecoveryService recoveryService;
+
+    @Autowired
+    private MailDispatcher dispatcher;
+
+    @Autowired
+    private MailOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        if (userRepository.findByEmail(EMAIL).isEmpty()) {
+            userRepository.save(User.builder().fullName("Outbox").email(EMAIL).password("x").build());
+        }
+    }
+
+    @Test
+    void recoveryIsQueuedAndDeliveredByDispatcher() throws Exception {
+        recoveryService.requestRecovery(EMAIL);
+
+        // La petición solo deja el correo en la cola
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(1, outboxRepository.countByStatus(MailStatus.PENDING));
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals(EMAIL, received[0].getAllRecipients()[0].toString());
+        MailOutbox sent = outboxRepository.findAll().get(0);
+        assertEquals(MailStatus.SENT, sent.getStatus());
+        assertEquals(1, sent.getAttempts());
+        assertNotNull(sent.getSentAt());
+        // El código de recuperación no se queda en la tabla
+        assertNull(sent.getBody());
+    }
+
+    @Test
+    void finishedMailIsPurgedAfterRetentionButPendingIsKept() {
+        Instant old = Instant.now().minus(Duration.ofDays(30));
+        outboxRepository.save(mail(MailStatus.SENT, old));
+        outboxRepository.save(mail(MailStatus.DEAD, old));
+        outboxRepository.save(mail(MailStatus.SENT, Instant.now()));
+        outboxRepository.save(mail(MailStatus.PENDING, old));
+
+        dispatcher.purgeFinished();
+
+        assertEquals(1, outboxRepository.countByStatus(MailStatus.SENT));
+        assertEquals(0, outboxRepository.countByStatus(MailStatus.DEAD));
+        assertEquals(1, outboxRepository.countByStatus(MailStatus.PENDING));
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoffAndThenDeadLettered() {
+        recoveryService.requestRecovery(EMAIL);
+        greenMail.stop();
+
+        Instant before = Instant.now();
+        dispatcher.dispatch();
+
+        MailOutbox retried = outboxRepository.findAll().get(0);
+        assertEquals(MailStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertNotNull(retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().isAfter(before));
+
+        // Mientras no venza el backoff no se vuelve a intentar
+        dispatcher.dispatch();
+        assertEquals(1, outboxRepository.findAll().get(0).getAttempts());
+
+        for (int i = 0; i < 2; i++) {
+            MailOutbox due = outboxRepository.findAll().get(0);
+            due.setNextAttemptAt(Instant.now());
+            outboxRepository.save(due);
+            dispatcher.dispatch();
+        }
+
+        List<MailOutbox> all = outboxRepository.findAll();
+        assertEquals(MailStatus.DEAD, all.get(0).getStatus());
+        assertEquals(3, all.get(0).getAttempts());
+        assertNull(all.get(0).getBody());
+    }
+
+    private static MailOutbox mail(MailStatus status, Instant createdAt) {
+        return MailOutbox.builder()
+                .recipient(EMAIL)
+                .subject("Asunto")
+                .status(status)
+                .nextAttemptAt(createdAt.plus(Duration.ofDays(365)))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Test
+    void dispatchDoesNotShareTheOnlySchedulerThread() {
+        // dispatch() espera a sus envíos: las demás tareas programadas necesitan otros hilos
+        assertTrue(taskScheduler.getPoolSize() > 1);
+    }
+}
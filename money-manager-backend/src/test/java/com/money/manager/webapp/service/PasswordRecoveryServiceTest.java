@@ -0,0 +1,80 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.model.PasswordRecovery;
+import com.money.manager.webapp.model.User;
+import com.money.manager.webapp.repository.PasswordRecoveryRepository;
+import com.money.manager.webapp.repository.UserRepository;
+import com.money.manager.webapp.security.RecoveryCodeStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Con la copia write-behind activada; el volcado se lanza a mano
+@SpringBootTest(properties = {
+        "security.recovery.persistent=true",
+        "security.recovery.flushIntervalMs=3600000"
+})
+class PasswordRecoveryServiceTest {
+
+    private static final String EMAIL = "recovery@test.com";
+
+    @Autowired
+    private PasswordRecoveryService recoveryService;
+
+    @Autowired
+    private RecoveryCodeStore codeStore;
+
+    @Autowired
+    private PasswordRecoveryRepository recoveryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void recoveryFlowIsWrittenBehindAndSurvivesARestart() {
+        userRepository.save(User.builder().fullName("Recuperación").email(EMAIL).password("x").build());
+
+        recoveryService.requestRecovery(EMAIL);
+        String code = codeStore.find(EMAIL).orElseThrow().getValue();
+        // La petición no escribe en la tabla
+        assertTrue(recoveryRepository.findAll().isEmpty());
+
+        RuntimeException wrong = assertThrows(RuntimeException.class,
+                () -> recoveryService.verifyCode(EMAIL, code.equals("111111") ? "222222" : "111111"));
+        assertEquals("Código incorrecto. Intentos restantes: 2", wrong.getMessage());
+        codeStore.flush();
+
+        List<PasswordRecovery> rows = recoveryRepository.findAll();
+        assertEquals(1, rows.size());
+        assertEquals(code, rows.get(0).getCode());
+        assertEquals(2, rows.get(0).getAttemptsRemaining());
+
+        // Tras un reinicio, el almacén nuevo recupera el código desde la tabla
+        RecoveryCodeStore restarted = new RecoveryCodeStore(recoveryRepository, transactionManager, 600_000, 3, 100, true);
+        restarted.load();
+        assertEquals(2, restarted.find(EMAIL).orElseThrow().getAttemptsRemaining());
+
+        recoveryService.verifyCode(EMAIL, code);
+        recoveryService.resetPassword(EMAIL, "Nueva1234!");
+        codeStore.flush();
+
+        assertTrue(passwordEncoder.matches("Nueva1234!", userRepository.findByEmail(EMAIL).orElseThrow().getPassword()));
+        assertTrue(codeStore.find(EMAIL).isEmpty());
+        assertTrue(recoveryRepository.findAll().isEmpty());
+        assertThrows(RuntimeException.class, () -> recoveryService.resetPassword(EMAIL, "Otra1234!"));
+    }
+}
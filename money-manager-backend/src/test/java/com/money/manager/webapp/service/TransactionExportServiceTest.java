@@ -0,0 +1,65 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.TransactionFilter;
+import com.money.manager.webapp.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "transactions.export.maxConcurrent=2")
+class TransactionExportServiceTest {
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Test
+    void concurrentExportsAreCappedAndSlotsComeBackWhenTheBodyEnds() throws Exception {
+        StreamingResponseBody first = exportService.export(-1L, new TransactionFilter(), "csv", false);
+        StreamingResponseBody second = exportService.export(-1L, new TransactionFilter(), "csv", false);
+
+        TooManyRequestsException busy = assertThrows(TooManyRequestsException.class,
+                () -> exportService.export(-1L, new TransactionFilter(), "csv", false));
+        assertEquals(10, busy.getRetryAfterSeconds());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        first.writeTo(out);
+        assertEquals("id,fecha,descripcion,importe,tipo,cuenta,categoria\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(1, exportService.availableSlots());
+
+        // Un cliente que corta la descarga también devuelve su hueco
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+        };
+        assertThrows(IOException.class, () -> second.writeTo(closed));
+        assertEquals(2, exportService.availableSlots());
+    }
+
+    @Test
+    void bodyThatNeverRunsIsReleasedOnceByTheAsyncCallback() throws Exception {
+        TransactionExportService.ExportBody neverRun = exportService.export(-1L, new TransactionFilter(), "csv", false);
+        TransactionExportService.ExportBody run = exportService.export(-1L, new TransactionFilter(), "csv", false);
+        assertEquals(0, exportService.availableSlots());
+
+        // Tarea rechazada: solo llega afterCompletion
+        neverRun.release();
+        neverRun.release();
+        assertEquals(1, exportService.availableSlots());
+
+        // Cuerpo terminado y después afterCompletion: un solo hueco devuelto
+        run.writeTo(new ByteArrayOutputStream());
+        run.release();
+        assertEquals(2, exportService.availableSlots());
+    }
+}
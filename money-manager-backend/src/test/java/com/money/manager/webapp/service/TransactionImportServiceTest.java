@@ -0,0 +1,197 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.BalancePointResponse;
+import com.money.manager.webapp.dto.ImportResult;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.CategoryRepository;
+import com.money.manager.webapp.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "transactions.import.batchSize=3")
+class TransactionImportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @MockitoSpyBean
+    private AccountRepository accountRepository;
+
+    @MockitoSpyBean
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void csvIsInsertedInBatchesWithOneBalanceAdjustmentAndReimportSkipsExistingRows() {
+        long userId = 7701L;
+        Long accountId = newAccount(userId);
+        Long categoryId = newCategory(userId);
+        String rows = """
+                2024-06-01,Nómina,1000.00
+                2024-06-01,Café,-2.50
+                2024-06-01,Café,-2.50
+                2024-06-02,Súper,-45.00
+                2024-06-02,Luz,-60.00
+                2024-06-02,Devolución,15.00
+                2024-06-03,Gasolina,-50.00
+                """;
+        clearInvocations(accountRepository, transactionRepository);
+
+        ImportResult first = importService.importStatement(csv("fecha,descripcion,importe\n" + rows), null, accountId, categoryId, userId);
+
+        assertEquals(7, first.getImported());
+        assertEquals(0, first.getDuplicates());
+        assertEquals(0, first.getFailed());
+        // 7 filas en lotes de 3: tres consultas de existentes y un único ajuste con la suma
+        verify(transactionRepository, times(3)).findExistingExternalIds(eq(accountId), anyCollection());
+        verify(accountRepository, times(1)).adjustBalance(eq(accountId), any());
+        verify(accountRepository).adjustBalance(eq(accountId), argThat(d -> d.compareTo(new BigDecimal("855.00")) == 0));
+        assertBalance(accountId, "955.00");
+        assertHistory(accountId, userId, "100.00", "1095.00", "1005.00", "955.00");
+
+        // El mismo extracto con un movimiento nuevo al final: solo entra ese
+        ImportResult second = importService.importStatement(
+                csv("fecha,descripcion,importe\n" + rows + "2024-06-03,Parking,-10.00\n"), null, accountId, categoryId, userId);
+
+        assertEquals(1, second.getImported());
+        assertEquals(7, second.getDuplicates());
+        assertEquals(8, transactionRepository.countByAccountId(accountId));
+        assertBalance(accountId, "945.00");
+        assertHistory(accountId, userId, "100.00", "1095.00", "1005.00", "945.00");
+    }
+
+    @Test
+    void categoriesOfOtherUsersAreRejected() {
+        long userId = 7702L;
+        Long accountId = newAccount(userId);
+        Long categoryId = newCategory(userId);
+        Long foreignCategoryId = newCategory(7799L);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> importService.importStatement(
+                csv("fecha,descripcion,importe\n2024-06-01,Café,-2.50\n"), null, accountId, foreignCategoryId, userId));
+        assertEquals("Categoría no encontrada", ex.getMessage());
+
+        ImportResult result = importService.importStatement(csv("fecha,descripcion,importe,categoria\n"
+                + "2024-06-01,Café," + "-2.50," + categoryId + "\n"
+                + "2024-06-01,Cena,-30.00," + foreignCategoryId + "\n"), null, accountId, null, userId);
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals("Categoría no encontrada", result.getErrors().get(0).getMessage());
+        assertEquals(1, transactionRepository.countByAccountId(accountId));
+        assertBalance(accountId, "97.50");
+    }
+
+    @Test
+    void importThatNetsToZeroLocksTheAccountAndStillRecordsTheDays() {
+        long userId = 7703L;
+        Long accountId = newAccount(userId);
+        Long categoryId = newCategory(userId);
+        clearInvocations(accountRepository);
+
+        ImportResult result = importService.importStatement(csv("""
+                fecha,descripcion,importe
+                2024-06-01,Reintegro,-50.00
+                2024-06-03,Ingreso,50.00
+                """), null, accountId, categoryId, userId);
+
+        assertEquals(2, result.getImported());
+        verify(accountRepository, never()).adjustBalance(eq(accountId), any());
+        verify(accountRepository).lockById(accountId);
+        assertBalance(accountId, "100.00");
+        assertHistory(accountId, userId, "100.00", "50.00", "50.00", "100.00");
+    }
+
+    @Test
+    void repeatedOfxIdsAreSkippedWithinAndAcrossBatches() {
+        long userId = 7704L;
+        Long accountId = newAccount(userId);
+        Long categoryId = newCategory(userId);
+
+        // Lote 1: A, B, (B repetido), C. Lote 2: A, ya insertado por el lote anterior
+        ImportResult result = importService.importStatement(ofx(
+                stmt("A", "-10.00"), stmt("B", "-20.00"), stmt("B", "-20.00"), stmt("C", "-30.00"), stmt("A", "-10.00")),
+                null, accountId, categoryId, userId);
+
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(3, transactionRepository.countByAccountId(accountId));
+        assertBalance(accountId, "40.00");
+    }
+
+    private Long newAccount(long userId) {
+        Account account = new Account();
+        account.setName("Importación");
+        account.setType("Banco");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setUserId(userId);
+        return accountRepository.save(account).getId();
+    }
+
+    private Long newCategory(long userId) {
+        return categoryRepository.save(Category.builder()
+                .name("Importados")
+                .type(TransactionType.EXPENSE)
+                .userId(userId)
+                .build()).getId();
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "extracto.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockMultipartFile ofx(String... transactions) {
+        String content = "OFXHEADER:100\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+                + String.join("\n", transactions)
+                + "\n</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+        return new MockMultipartFile("file", "extracto.ofx", "application/x-ofx", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String stmt(String fitId, String amount) {
+        return "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240601<TRNAMT>" + amount + "<FITID>" + fitId + "<NAME>Pago " + fitId + "</STMTTRN>";
+    }
+
+    private void assertBalance(Long accountId, String expected) {
+        BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), "Saldo " + balance);
+    }
+
+    private void assertHistory(Long accountId, long userId, String... expected) {
+        List<BalancePointResponse> points = balanceHistoryService.getHistory(accountId, userId, DAY.minusDays(1), DAY.plusDays(2));
+        assertEquals(expected.length, points.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(0, new BigDecimal(expected[i]).compareTo(points.get(i).getBalance()),
+                    "Saldo del " + points.get(i).getDate());
+        }
+    }
+}
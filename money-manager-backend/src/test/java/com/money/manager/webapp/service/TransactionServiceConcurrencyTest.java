@@ -0,0 +1,119 @@
+package com.money.manager.webapp.service;
+
+import com.money.manager.webapp.dto.TransactionRequest;
+import com.money.manager.webapp.model.Account;
+import com.money.manager.webapp.model.Category;
+import com.money.manager.webapp.model.TransactionType;
+import com.money.manager.webapp.repository.AccountRepository;
+import com.money.manager.webapp.repository.CategoryRepository;
+import com.money.manager.webapp.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionServiceConcurrencyTest {
+
+    private static final long USER_ID = 7001L;
+    private static final int THREADS = 16;
+    private static final int CREATES = 2000;
+    private static final int DELETES = 1000;
+    // Suelo holgado: con H2 y una sola CPU salen unas 200 ops/s. Solo salta con regresiones graves,
+    // como esperas de bloqueo que serializan los hilos o reconstrucciones del histórico por movimiento
+    private static final int MIN_OPS_PER_SECOND = 50;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void parallelCreatesAndDeletesKeepBalanceConsistentAboveAThroughputFloor() throws Exception {
+        Account account = new Account();
+        account.setName("Concurrencia");
+        account.setType("Banco");
+        account.setUserId(USER_ID);
+        Long accountId = accountRepository.save(account).getId();
+
+        Long categoryId = categoryRepository.save(Category.builder()
+                .name("Varios")
+                .type(TransactionType.EXPENSE)
+                .userId(USER_ID)
+                .build()).getId();
+
+        Queue<Long> created = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CREATES; i++) {
+            futures.add(pool.submit(() -> {
+                TransactionRequest request = new TransactionRequest();
+                request.setDescription("mov");
+                request.setAmount(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1, 10_000), 2));
+                request.setType(ThreadLocalRandom.current().nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE);
+                request.setAccountId(accountId);
+                request.setCategoryId(categoryId);
+                created.add(transactionService.createTransaction(request, USER_ID).getId());
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+
+        // Borrados concurrentes, incluyendo dos intentos sobre la misma transacción
+        List<Long> ids = new ArrayList<>(created);
+        futures.clear();
+        for (int i = 0; i < DELETES; i++) {
+            Long id = ids.get(i);
+            for (int attempt = 0; attempt < 2; attempt++) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        transactionService.deleteTransaction(id, USER_ID);
+                    } catch (RuntimeException alreadyDeleted) {
+                        // el segundo intento debe fallar sin tocar el saldo
+                    }
+                }));
+            }
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        double opsPerSecond = (CREATES + 2 * DELETES) / seconds;
+
+        BigDecimal expected = transactionRepository.findResponsesByAccountIdAndUserId(accountId, USER_ID).stream()
+                .map(t -> TransactionService.balanceAdjustment(t.getAmount(), t.getType(), false))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance();
+
+        assertEquals(CREATES - DELETES, transactionRepository.findResponsesByAccountIdAndUserId(accountId, USER_ID).size());
+        assertEquals(0, expected.compareTo(balance), "saldo " + balance + " != suma de movimientos " + expected);
+        assertTrue(opsPerSecond >= MIN_OPS_PER_SECOND,
+                String.format("%.0f ops/s, por debajo del mínimo de %d", opsPerSecond, MIN_OPS_PER_SECOND));
+    }
+}
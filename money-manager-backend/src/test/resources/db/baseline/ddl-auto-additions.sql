@@ -0,0 +1,18 @@
+-- Lo que ddl-auto=update añadía con las versiones desplegadas justo antes de Flyway: external_id,
+-- revoked_tokens, mail_outbox y las secuencias de ids (salida de Hibernate tal cual)
+create table mail_outbox (id bigint not null, attempts integer not null, body varchar(4000) not null, claimed_at timestamp(6) with time zone, created_at timestamp(6) with time zone not null, last_error varchar(1000), next_attempt_at timestamp(6) with time zone not null, recipient varchar(255) not null, sent_at timestamp(6) with time zone, status varchar(16) not null check (status in ('PENDING','SENDING','SENT','DEAD')), subject varchar(255) not null, primary key (id));
+create table revoked_tokens (token_id varchar(64) not null, expires_at timestamp(6) with time zone not null, revoked_at timestamp(6) with time zone not null, primary key (token_id));
+alter table if exists transactions add column external_id varchar(64);
+create index idx_mail_outbox_due on mail_outbox (status, next_attempt_at);
+alter table if exists transactions add constraint UKfpl83hudpu0vp8dskdpwklvha unique (account_id, external_id);
+create sequence accounts_seq start with 1 increment by 50;
+create sequence categories_seq start with 1 increment by 50;
+create sequence mail_outbox_seq start with 1 increment by 50;
+create sequence password_recovery_seq start with 1 increment by 50;
+create sequence refresh_token_seq start with 1 increment by 50;
+create sequence transactions_seq start with 1 increment by 50;
+create sequence users_seq start with 1 increment by 50;
+
+insert into revoked_tokens (expires_at, revoked_at, token_id) values (now() + interval '10 minutes', now(), 'jti-revocado');
+insert into mail_outbox (attempts, created_at, id, next_attempt_at, status, body, recipient, subject)
+values (0, now(), 1, now(), 'PENDING', 'Código: 123456', 'antiguo@test.com', 'Recuperación de contraseña');
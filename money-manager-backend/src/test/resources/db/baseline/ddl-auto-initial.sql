@@ -0,0 +1,21 @@
+-- Esquema que generaba ddl-auto=update con las entidades anteriores a Flyway (salida de Hibernate tal cual)
+create table accounts (id bigint generated by default as identity, balance numeric(38,2) not null, name varchar(255) not null, type varchar(255) not null, user_id bigint not null, primary key (id));
+create table categories (id bigint generated by default as identity, color varchar(7), name varchar(50) not null, type varchar(255) not null check (type in ('INCOME','EXPENSE')), user_id bigint not null, primary key (id));
+create table password_recovery (id bigint generated by default as identity, attempts_remaining integer not null, code varchar(255), email varchar(255), expiration timestamp(6), verified boolean not null, primary key (id));
+create table refresh_token (id bigint generated by default as identity, expiry_date timestamp(6) with time zone not null, token varchar(255) not null, user_id bigint, primary key (id));
+create table transactions (id bigint generated by default as identity, amount numeric(38,2) not null, category_id bigint not null, transaction_date timestamp(6) not null, description varchar(255) not null, type varchar(255) not null check (type in ('INCOME','EXPENSE')), user_id bigint not null, account_id bigint not null, primary key (id));
+create table users (id bigint generated by default as identity, email varchar(255) not null, full_name varchar(255) not null, password varchar(255) not null, primary key (id));
+alter table if exists refresh_token add constraint UKr4k4edos30bx9neoq81mdvwph unique (token);
+alter table if exists refresh_token add constraint UKf95ixxe7pa48ryn1awmh2evt7 unique (user_id);
+alter table if exists users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table if exists refresh_token add constraint FKjtx87i0jvq2svedphegvdwcuy foreign key (user_id) references users;
+alter table if exists transactions add constraint FK20w7wsg13u9srbq3bd7chfxdh foreign key (account_id) references accounts;
+
+insert into users (email, full_name, password) values ('antiguo@test.com', 'Usuario antiguo', 'x'), ('otro@test.com', 'Otro', 'x');
+insert into accounts (name, type, balance, user_id) values ('Banco', 'Banco', 150.00, 1);
+insert into categories (name, type, color, user_id) values ('Nómina', 'INCOME', '#00ff00', 1);
+insert into transactions (amount, category_id, transaction_date, description, type, user_id, account_id)
+values (200.00, 1, '2024-01-05 10:00:00', 'Nómina', 'INCOME', 1, 1),
+       (50.00, 1, '2024-01-06 10:00:00', 'Compra', 'EXPENSE', 1, 1);
+insert into refresh_token (expiry_date, token, user_id) values (now() + interval '1 day', 'vigente', 1), (now() - interval '1 day', 'caducado', 2);
+insert into password_recovery (attempts_remaining, code, email, expiration, verified) values (3, '123456', 'antiguo@test.com', now() + interval '5 minutes', false);
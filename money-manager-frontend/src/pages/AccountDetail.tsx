@@ -3,10 +3,11 @@ import { useParams, useNavigate } from "react-router-dom";
 import { ArrowLeft, Trash2, Save, Edit2, Plus, ArrowUpCircle, ArrowDownCircle, ChevronLeft, ChevronRight, CircleDollarSign  } from "lucide-react";
 import { getAccount, updateAccount, deleteAccount } from "../services/accountService";
 import type { Account } from "../services/accountService";
-import { getTransactionsByAccount, createTransaction, deleteTransaction } from "../services/transactionService";
+import { getTransactionsPage, createTransaction, deleteTransaction } from "../services/transactionService";
 import type { Transaction } from "../services/transactionService";
 import { getCategories } from "../services/categoryService";
 import type { Category } from "../services/categoryService";
+import { formatMoney } from "../utils/money";
 
 const ITEMS_PER_PAGE = 10;
 
@@ -24,6 +25,9 @@ const AccountDetail: React.FC = () => {
   const [editType, setEditType] = useState("");
 
   const [currentPage, setCurrentPage] = useState(1);
+  // cursors[i] es el cursor con el que se pide la página i + 1
+  const [cursors, setCursors] = useState<(string | null)[]>([null]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
   const [txForm, setTxForm] = useState({
     description: "",
@@ -39,15 +43,14 @@ const AccountDetail: React.FC = () => {
 
   const loadData = async () => {
     try {
-      const [accData, txData, catData] = await Promise.all([
+      const [accData, catData] = await Promise.all([
         getAccount(accountId),
-        getTransactionsByAccount(accountId),
-        getCategories()
+        getCategories(),
+        loadPage(1, [null])
       ]);
       setAccount(accData);
       setEditName(accData.name);
       setEditType(accData.type);
-      setTransactions(txData.sort((a, b) => new Date(b.date).getTime() - new Date(a.date).getTime()));
       setCategories(catData);
     } catch (error) {
       console.error("Error cargando detalles", error);
@@ -56,12 +59,25 @@ const AccountDetail: React.FC = () => {
   };
 
 
-  const totalPages = Math.ceil(transactions.length / ITEMS_PER_PAGE);
-  const startIndex = (currentPage - 1) * ITEMS_PER_PAGE;
-  const currentTransactions = transactions.slice(startIndex, startIndex + ITEMS_PER_PAGE);
+  const loadPage = async (page: number, pageCursors: (string | null)[]) => {
+    const data = await getTransactionsPage({ accountId, cursor: pageCursors[page - 1], size: ITEMS_PER_PAGE });
+    setTransactions(data.items);
+    setNextCursor(data.nextCursor);
+    setCursors(pageCursors);
+    setCurrentPage(page);
+  };
+
+  const currentTransactions = transactions;
 
-  const goToNextPage = () => setCurrentPage((prev) => Math.min(prev + 1, totalPages));
-  const goToPrevPage = () => setCurrentPage((prev) => Math.max(prev - 1, 1));
+  const goToNextPage = () => {
+    if (!nextCursor) return;
+    loadPage(currentPage + 1, [...cursors.slice(0, currentPage), nextCursor])
+      .catch(error => console.error(error));
+  };
+  const goToPrevPage = () => {
+    if (currentPage === 1) return;
+    loadPage(currentPage - 1, cursors).catch(error => console.error(error));
+  };
 
   const handleUpdateAccount = async () => {
     try {
@@ -99,7 +115,6 @@ const AccountDetail: React.FC = () => {
       });
       await loadData(); 
       setTxForm({ ...txForm, description: "", amount: "" });
-      setCurrentPage(1); 
     } catch (error) {
       console.error(error);
     }
@@ -109,10 +124,9 @@ const AccountDetail: React.FC = () => {
     if (!confirm("¿Borrar movimiento?")) return;
     try {
       await deleteTransaction(txId);
-      await loadData();
-      if (currentTransactions.length === 1 && currentPage > 1) {
-        setCurrentPage(currentPage - 1);
-      }
+      const page = currentTransactions.length === 1 && currentPage > 1 ? currentPage - 1 : currentPage;
+      await loadPage(page, cursors);
+      setAccount(await getAccount(accountId));
     } catch (error) {
       console.error(error);
     }
@@ -175,7 +189,7 @@ const AccountDetail: React.FC = () => {
                   <div className="pt-4 border-t">
                     <p className="text-gray-500 text-sm">Saldo Actual</p>
                     <p className={`text-3xl font-mono font-bold ${account.balance >= 0 ? 'text-gray-800' : 'text-red-600'}`}>
-                      ${account.balance.toFixed(2)}
+                      {formatMoney(account.balance, account.currency)}
                     </p>
                   </div>
                 </>
@@ -231,7 +245,7 @@ const AccountDetail: React.FC = () => {
         <div className="lg:col-span-2 bg-white rounded-xl shadow-sm border border-gray-100 flex flex-col h-full overflow-hidden">
           <div className="p-4 border-b bg-gray-50 flex justify-between items-center">
             <h3 className="font-bold text-gray-700">Historial de la Cuenta</h3>
-            <span className="text-xs bg-gray-200 text-gray-600 px-2 py-1 rounded-full">{transactions.length} movs.</span>
+            <span className="text-xs bg-gray-200 text-gray-600 px-2 py-1 rounded-full">Pág. {currentPage}</span>
           </div>
           
           <div className="flex-1 overflow-y-auto p-0 relative">
@@ -276,10 +290,10 @@ const AccountDetail: React.FC = () => {
             )}
           </div>
 
-          {transactions.length > 0 && (
+          {(transactions.length > 0 || currentPage > 1) && (
             <div className="p-3 border-t border-gray-100 bg-gray-50 flex items-center justify-between text-sm">
                <span className="text-gray-500 hidden sm:inline">
-                 {startIndex + 1}-{Math.min(startIndex + ITEMS_PER_PAGE, transactions.length)} de {transactions.length}
+                 {transactions.length} movimientos
                </span>
                <div className="flex gap-2 ml-auto">
                  <button 
@@ -290,7 +304,7 @@ const AccountDetail: React.FC = () => {
                  </button>
                  <span className="flex items-center px-2 font-medium">{currentPage}</span>
                  <button 
-                   onClick={goToNextPage} disabled={currentPage === totalPages || totalPages === 0}
+                   onClick={goToNextPage} disabled={!nextCursor}
                    className="flex items-center gap-1 px-3 py-1.5 rounded-md hover:bg-white border border-transparent hover:border-gray-200 disabled:opacity-50 disabled:cursor-not-allowed transition-all"
                  >
                    Sig. <ChevronRight size={16}/>
@@ -2,18 +2,20 @@ import React, { useEffect, useState } from "react";
 import { Plus, Trash2, Wallet, ArrowLeft, CreditCard } from "lucide-react";
 import { useNavigate } from "react-router-dom";
 import { getAccounts, createAccount, deleteAccount } from "../services/accountService";
+import { CURRENCIES, formatMoney } from "../utils/money";
 
 interface Account {
   id: number;
   name: string;
   type: string;
   balance: number;
+  currency: string;
 }
 
 const Accounts: React.FC = () => {
   const navigate = useNavigate();
   const [accounts, setAccounts] = useState<Account[]>([]);
-  const [newAccount, setNewAccount] = useState({ name: "", type: "Efectivo", balance: 0.0});
+  const [newAccount, setNewAccount] = useState({ name: "", type: "Efectivo", balance: 0.0, currency: "EUR" });
 
   useEffect(() => {
     loadAccounts();
@@ -33,7 +35,7 @@ const Accounts: React.FC = () => {
     if (!newAccount.name) return;
     try {
       await createAccount(newAccount);
-      setNewAccount({ name: "", type: "Efectivo", balance: 0.0 });
+      setNewAccount({ name: "", type: "Efectivo", balance: 0.0, currency: "EUR" });
       loadAccounts();
     } catch (error) {
       console.error("Error creando cuenta", error);
@@ -86,6 +88,18 @@ const Accounts: React.FC = () => {
               <option value="Ahorro">Ahorro</option>
             </select>
           </div>
+          <div>
+            <label className="block text-xs font-bold text-gray-500 uppercase mb-1">Divisa</label>
+            <select
+              value={newAccount.currency}
+              onChange={(e) => setNewAccount({ ...newAccount, currency: e.target.value })}
+              className="border rounded-lg p-2 bg-white focus:ring-2 focus:ring-indigo-500 outline-none"
+            >
+              {CURRENCIES.map((c) => (
+                <option key={c} value={c}>{c}</option>
+              ))}
+            </select>
+          </div>
           <button type="submit" className="bg-indigo-600 text-white px-6 py-2 rounded-lg hover:bg-indigo-700 font-medium flex items-center gap-2 transition-colors">
             <Plus size={20} /> Añadir
           </button>
@@ -106,7 +120,7 @@ const Accounts: React.FC = () => {
                   <h3 className="font-bold text-gray-800 text-lg">{acc.name}</h3>
                   <p className="text-gray-500 text-sm">{acc.type}</p>
                   <p className={`font-mono font-bold mt-1 ${acc.balance >= 0 ? 'text-green-600' : 'text-red-600'}`}>
-                    ${acc.balance.toFixed(2)}
+                    {formatMoney(acc.balance, acc.currency)}
                   </p>
                 </div>
               </div>
@@ -2,12 +2,14 @@ import React, { useEffect, useState } from "react";
 import { UserCircle, Plus, Wallet, CreditCard, ArrowRight, X } from "lucide-react";
 import { useNavigate } from "react-router-dom";
 import { getUserProfile } from "../services/profileService";
-import { getAccounts, createAccount } from "../services/accountService";
-import type { Account } from "../services/accountService";
+import { getAccounts, createAccount, getConsolidatedBalance } from "../services/accountService";
+import type { Account, ConsolidatedBalance } from "../services/accountService";
+import { formatMoney } from "../utils/money";
 
 const Dashboard: React.FC = () => {
   const [profile, setProfile] = useState<{ name?: string; email?: string } | null>(null);
   const [accounts, setAccounts] = useState<Account[]>([]);
+  const [consolidated, setConsolidated] = useState<ConsolidatedBalance | null>(null);
   const navigate = useNavigate();
   const [isModalOpen, setIsModalOpen] = useState(false);
   const [newAccount, setNewAccount] = useState({ name: "", type: "Efectivo" });
@@ -19,8 +21,9 @@ const Dashboard: React.FC = () => {
       await createAccount(newAccount);
       setNewAccount({ name: "", type: "Efectivo" }); 
       setIsModalOpen(false);
-      const updatedAccounts = await getAccounts();
+      const [updatedAccounts, updatedBalance] = await Promise.all([getAccounts(), getConsolidatedBalance()]);
       setAccounts(updatedAccounts);
+      setConsolidated(updatedBalance);
     } catch (error) {
       console.error("Error creando cuenta", error);
     }
@@ -29,12 +32,14 @@ const Dashboard: React.FC = () => {
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [profileData, accountsData] = await Promise.all([
+        const [profileData, accountsData, balanceData] = await Promise.all([
           getUserProfile(),
-          getAccounts()
+          getAccounts(),
+          getConsolidatedBalance()
         ]);
         setProfile(profileData);
         setAccounts(accountsData);
+        setConsolidated(balanceData);
       } catch (err) {
         console.error("Error cargando datos del dashboard", err);
       }
@@ -42,7 +47,8 @@ const Dashboard: React.FC = () => {
     fetchData();
   }, []);
 
-  const totalBalance = accounts.reduce((sum, acc) => sum + acc.balance, 0);
+  // Convertido en el servidor: sumar saldos en divisas distintas no tiene sentido
+  const totalBalance = consolidated?.total ?? 0;
 
   return (
     <div className="min-h-screen bg-[#f9f9f6] p-6">
@@ -74,8 +80,13 @@ const Dashboard: React.FC = () => {
           </h1>
           <p className="text-gray-500 mt-1">Balance total actual:</p>
           <p className={`text-4xl font-extrabold mt-2 ${totalBalance >= 0 ? 'text-gray-900' : 'text-red-500'}`}>
-            ${totalBalance.toFixed(2)}
+            {formatMoney(totalBalance, consolidated?.currency)}
           </p>
+          {consolidated && consolidated.missingRates.length > 0 && (
+            <p className="text-xs text-amber-600 mt-1">
+              Sin tipo de cambio para {consolidated.missingRates.join(", ")}: esas cuentas no suman al total
+            </p>
+          )}
         </div>
 
         <div className="mb-10">
@@ -106,7 +117,7 @@ const Dashboard: React.FC = () => {
                 </div>
                 <h3 className="font-bold text-gray-700 truncate">{acc.name}</h3>
                 <p className={`text-xl font-bold mt-1 ${acc.balance >= 0 ? 'text-gray-900' : 'text-red-600'}`}>
-                  ${acc.balance.toFixed(2)}
+                  {formatMoney(acc.balance, acc.currency)}
                 </p>
               </div>
             ))}
@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from "react";
 import { Plus, Trash2, ArrowLeft, ArrowUpCircle, ArrowDownCircle, ChevronLeft, ChevronRight, DollarSign  } from "lucide-react";
 import { useNavigate } from "react-router-dom";
-import { getTransactions, createTransaction, deleteTransaction } from "../services/transactionService";
+import { getTransactionsPage, createTransaction, deleteTransaction } from "../services/transactionService";
 import { getCategories } from "../services/categoryService";
 import { getAccounts } from "../services/accountService";
 
@@ -38,6 +38,9 @@ const Transactions: React.FC = () => {
   const [accounts, setAccounts] = useState<Account[]>([]);
   
   const [currentPage, setCurrentPage] = useState(1);
+  // cursors[i] es el cursor con el que se pide la página i + 1
+  const [cursors, setCursors] = useState<(string | null)[]>([null]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
   const [form, setForm] = useState({
     description: "",
@@ -53,12 +56,11 @@ const Transactions: React.FC = () => {
 
   const fetchData = async () => {
     try {
-      const [txData, catData, accData] = await Promise.all([
-        getTransactions(),
+      const [catData, accData] = await Promise.all([
         getCategories(),
-        getAccounts()
+        getAccounts(),
+        loadPage(1, [null])
       ]);
-      setTransactions(txData as unknown as Transaction[]);
       setCategories(catData as unknown as Category[]);
       setAccounts(accData as unknown as Account[]);
     } catch (error) {
@@ -66,19 +68,26 @@ const Transactions: React.FC = () => {
     }
   };
 
+  const loadPage = async (page: number, pageCursors: (string | null)[]) => {
+    const data = await getTransactionsPage({ cursor: pageCursors[page - 1], size: ITEMS_PER_PAGE });
+    setTransactions(data.items as unknown as Transaction[]);
+    setNextCursor(data.nextCursor);
+    setCursors(pageCursors);
+    setCurrentPage(page);
+  };
 
-  const sortedTransactions = [...transactions].sort((a, b) => 
-    new Date(b.date).getTime() - new Date(a.date).getTime()
-  );
-
-
-  const totalPages = Math.ceil(sortedTransactions.length / ITEMS_PER_PAGE);
-  const startIndex = (currentPage - 1) * ITEMS_PER_PAGE;
-  const currentTransactions = sortedTransactions.slice(startIndex, startIndex + ITEMS_PER_PAGE);
+  const currentTransactions = transactions;
 
-  
-  const goToNextPage = () => setCurrentPage((prev) => Math.min(prev + 1, totalPages));
-  const goToPrevPage = () => setCurrentPage((prev) => Math.max(prev - 1, 1));
+  const goToNextPage = () => {
+    if (!nextCursor) return;
+    loadPage(currentPage + 1, [...cursors.slice(0, currentPage), nextCursor])
+      .catch(error => console.error("Error cargando página", error));
+  };
+  const goToPrevPage = () => {
+    if (currentPage === 1) return;
+    loadPage(currentPage - 1, cursors)
+      .catch(error => console.error("Error cargando página", error));
+  };
 
 
 
@@ -99,7 +108,6 @@ const Transactions: React.FC = () => {
       });
       await fetchData(); 
       setForm({ ...form, description: "", amount: "" });
-      setCurrentPage(1); 
     } catch (error) {
       console.error("Error creando transacción", error);
     }
@@ -109,10 +117,9 @@ const Transactions: React.FC = () => {
     if (!confirm("¿Eliminar transacción? Se revertirá el saldo.")) return;
     try {
       await deleteTransaction(id);
-      await fetchData();
-      if (currentTransactions.length === 1 && currentPage > 1) {
-        setCurrentPage(currentPage - 1);
-      }
+      const page = currentTransactions.length === 1 && currentPage > 1 ? currentPage - 1 : currentPage;
+      await loadPage(page, cursors);
+      setAccounts(await getAccounts() as unknown as Account[]);
     } catch (error) {
       console.error("Error eliminando", error);
     }
@@ -249,10 +256,10 @@ const Transactions: React.FC = () => {
             </table>
           </div>
 
-          {transactions.length > 0 && (
+          {(transactions.length > 0 || currentPage > 1) && (
             <div className="p-4 border-t border-gray-100 flex items-center justify-between bg-gray-50">
               <span className="text-sm text-gray-500">
-                Mostrando {startIndex + 1}-{Math.min(startIndex + ITEMS_PER_PAGE, transactions.length)} de {transactions.length}
+                Mostrando {transactions.length} movimientos
               </span>
               
               <div className="flex items-center gap-2">
@@ -265,12 +272,12 @@ const Transactions: React.FC = () => {
                 </button>
                 
                 <span className="text-sm font-medium text-gray-700 px-2">
-                  Página {currentPage} de {totalPages || 1}
+                  Página {currentPage}
                 </span>
 
                 <button 
                   onClick={goToNextPage} 
-                  disabled={currentPage === totalPages || totalPages === 0}
+                  disabled={!nextCursor}
                   className="p-2 rounded-lg hover:bg-white disabled:opacity-50 disabled:cursor-not-allowed transition-colors border border-transparent hover:border-gray-200 hover:shadow-sm"
                 >
                   <ChevronRight size={20} className="text-gray-600" />
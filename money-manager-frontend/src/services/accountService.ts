@@ -5,13 +5,25 @@ export interface Account {
   name: string;
   type: string;
   balance: number;
+  currency: string;
 }
 
+export interface ConsolidatedBalance {
+  currency: string;
+  total: number;
+  ratesAsOf: string;
+  accounts: { accountId: number; accountName: string; currency: string; balance: number; converted: number | null }[];
+  missingRates: string[];
+}
+
+// Sin divisa, el backend usa la divisa base del usuario
+export type NewAccount = Omit<Account, "id" | "balance" | "currency"> & Partial<Pick<Account, "balance" | "currency">>;
+
 export const getAccounts = async (): Promise<Account[]> => {
   return apiClient("/accounts", { method: "GET" });
 };
 
-export const createAccount = async (account: Omit<Account, "id">): Promise<Account> => {
+export const createAccount = async (account: NewAccount): Promise<Account> => {
   return apiClient("/accounts", {
     method: "POST",
     body: JSON.stringify(account),
@@ -31,4 +43,10 @@ export const updateAccount = async (id: number, account: Partial<Account>): Prom
     method: "PUT",
     body: JSON.stringify(account),
   });
-};
\ No newline at end of file
+};
+
+// Todas las cuentas convertidas a una divisa en el servidor
+export const getConsolidatedBalance = async (currency?: string): Promise<ConsolidatedBalance> => {
+  const query = currency ? `?currency=${encodeURIComponent(currency)}` : "";
+  return apiClient(`/accounts/consolidated-balance${query}`, { method: "GET" });
+};
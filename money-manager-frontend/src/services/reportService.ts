@@ -0,0 +1,55 @@
+import { apiClient } from "../utils/apiClient";
+
+export interface ReportSummary {
+  totalIncome: number;
+  totalExpense: number;
+  net: number;
+  incomeCount: number;
+  expenseCount: number;
+}
+
+export interface MonthlyTotal {
+  year: number;
+  month: number;
+  type: "INCOME" | "EXPENSE";
+  total: number;
+  count: number;
+}
+
+export interface CategoryTotal {
+  categoryId: number;
+  type: "INCOME" | "EXPENSE";
+  total: number;
+  count: number;
+}
+
+export interface AccountTotal {
+  accountId: number;
+  accountName: string;
+  type: "INCOME" | "EXPENSE";
+  total: number;
+  count: number;
+}
+
+const rangeQuery = (from?: string, to?: string) => {
+  const query = new URLSearchParams();
+  if (from) query.append("from", from);
+  if (to) query.append("to", to);
+  return query.toString() ? `?${query.toString()}` : "";
+};
+
+export const getReportSummary = async (from?: string, to?: string): Promise<ReportSummary> => {
+  return apiClient(`/reports/summary${rangeQuery(from, to)}`, { method: "GET" });
+};
+
+export const getMonthlyTotals = async (from?: string, to?: string): Promise<MonthlyTotal[]> => {
+  return apiClient(`/reports/monthly${rangeQuery(from, to)}`, { method: "GET" });
+};
+
+export const getCategoryTotals = async (from?: string, to?: string): Promise<CategoryTotal[]> => {
+  return apiClient(`/reports/categories${rangeQuery(from, to)}`, { method: "GET" });
+};
+
+export const getAccountTotals = async (from?: string, to?: string): Promise<AccountTotal[]> => {
+  return apiClient(`/reports/accounts${rangeQuery(from, to)}`, { method: "GET" });
+};
@@ -36,4 +36,32 @@ export const deleteTransaction = async (id: number): Promise<void> => {
 
 export const getTransactionsByAccount = async (accountId: number): Promise<Transaction[]> => {
   return apiClient(`/transactions/account/${accountId}`, { method: "GET" });
-};
\ No newline at end of file
+};
+
+export interface TransactionPage {
+  items: Transaction[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+export interface TransactionPageParams {
+  cursor?: string | null;
+  size?: number;
+  from?: string;
+  to?: string;
+  type?: "INCOME" | "EXPENSE";
+  categoryId?: number;
+  accountId?: number;
+  minAmount?: number;
+  maxAmount?: number;
+}
+
+export const getTransactionsPage = async (params: TransactionPageParams = {}): Promise<TransactionPage> => {
+  const query = new URLSearchParams();
+  Object.entries(params).forEach(([key, value]) => {
+    if (value !== undefined && value !== null && value !== "") {
+      query.append(key, String(value));
+    }
+  });
+  return apiClient(`/transactions/page?${query.toString()}`, { method: "GET" });
+};
@@ -0,0 +1,5 @@
+// Importe con su divisa (ISO 4217); las cuentas antiguas son euros
+export const formatMoney = (amount: number, currency = "EUR") =>
+  new Intl.NumberFormat("es-ES", { style: "currency", currency }).format(amount);
+
+export const CURRENCIES = ["EUR", "USD", "GBP", "CHF", "JPY", "MXN"];